@@ -0,0 +1,66 @@
+package service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// mvn -P vector,benchmarks compile exec:exec
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class PayrollKernelBenchmark {
+    @Param({"1000", "100000"})
+    public int employees;
+
+    private long[] salaryCents;
+    private int[] effectiveHalfDays;
+    private int[] requiredHalfDays;
+    private long[] out;
+    private BulkPayrollCalculator scalar;
+    private BulkPayrollCalculator vector;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        salaryCents = new long[employees];
+        effectiveHalfDays = new int[employees];
+        requiredHalfDays = new int[employees];
+        out = new long[employees];
+        for (int i = 0; i < employees; i++) {
+            salaryCents[i] = random.nextLong(1_500_000L, 25_000_000L);
+            effectiveHalfDays[i] = random.nextInt(0, 45);
+            requiredHalfDays[i] = 44;
+        }
+        scalar = BulkPayrollCalculator.scalar();
+        vector = new BulkPayrollCalculator();
+        if (!vector.isVectorized()) {
+            throw new IllegalStateException("Vector kernel is not on the classpath; build with -P vector.");
+        }
+    }
+
+    @Benchmark
+    public void scalar(Blackhole blackhole) {
+        scalar.computeCents(salaryCents, effectiveHalfDays, requiredHalfDays, out);
+        blackhole.consume(out);
+    }
+
+    @Benchmark
+    public void vector(Blackhole blackhole) {
+        vector.computeCents(salaryCents, effectiveHalfDays, requiredHalfDays, out);
+        blackhole.consume(out);
+    }
+}
@@ -8,11 +8,14 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import service.ApplicationLifecycleService;
 import ui.MainView;
+import util.StartupTimeline;
 
 public class PayrollSystemFXApp extends Application {
 
     @Override
     public void start(Stage stage) {
+        StartupTimeline.mark("JavaFX started");
+        ApplicationLifecycleService.installShutdownHook();
         Parent root = new MainView().createRoot();
         Scene scene = new Scene(root, AppConfig.windowWidth(), AppConfig.windowHeight());
 
@@ -23,6 +26,7 @@ public class PayrollSystemFXApp extends Application {
         stage.setScene(scene);
         stage.centerOnScreen();
         stage.show();
+        StartupTimeline.mark("window shown");
     }
 
     @Override
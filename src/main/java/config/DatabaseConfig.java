@@ -6,7 +6,11 @@ import java.nio.file.Files;
 import util.AppConstants;
 
 public final class DatabaseConfig {
+    /** System property naming the database file; when set it replaces the portable and home-directory locations. */
+    public static final String DATABASE_PATH_PROPERTY = "payroll.database.path";
+
     private static final String DATA_DIR = "data";
+    private static final String BACKUP_DIR = "backups";
     private static final String FALLBACK_DIR = ".payrollsystemfx";
     private static volatile Path resolvedDatabasePath;
 
@@ -32,6 +36,12 @@ public final class DatabaseConfig {
                 return resolvedDatabasePath;
             }
 
+            String configured = System.getProperty(DATABASE_PATH_PROPERTY);
+            if (configured != null && !configured.isBlank()) {
+                resolvedDatabasePath = Paths.get(configured).toAbsolutePath();
+                return resolvedDatabasePath;
+            }
+
             Path portable = dataPath().resolve(AppConstants.DB_FILE_NAME);
             if (canUse(portable)) {
                 resolvedDatabasePath = portable;
@@ -45,6 +55,10 @@ public final class DatabaseConfig {
         }
     }
 
+    public static Path backupPath() {
+        return databasePath().resolveSibling(BACKUP_DIR);
+    }
+
     public static String jdbcUrl() {
         return "jdbc:sqlite:" + databasePath();
     }
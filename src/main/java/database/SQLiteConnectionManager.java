@@ -1,12 +1,15 @@
 package database;
 
 import config.DatabaseConfig;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.logging.Level;
@@ -21,6 +24,8 @@ public final class SQLiteConnectionManager implements ConnectionPool {
     private final String jdbcUrl;
     private final int maxPoolSize;
     private int totalConnections;
+    private int leasedConnections;
+    private boolean swapping;
 
     private SQLiteConnectionManager(String jdbcUrl, int maxPoolSize) {
         this.jdbcUrl = jdbcUrl;
@@ -46,7 +51,18 @@ public final class SQLiteConnectionManager implements ConnectionPool {
 
     @Override
     public synchronized Connection borrowConnection() throws SQLException {
+        refuseDuringSwap();
         ensureDatabaseFileExists();
+        leasedConnections++;
+        try {
+            return nextConnection();
+        } catch (SQLException | RuntimeException ex) {
+            leasedConnections--;
+            throw ex;
+        }
+    }
+
+    private Connection nextConnection() throws SQLException {
 
         while (!available.isEmpty()) {
             Connection existing = available.pop();
@@ -69,6 +85,7 @@ public final class SQLiteConnectionManager implements ConnectionPool {
         if (connection == null) {
             return;
         }
+        release();
 
         try {
             if (connection.isClosed()) {
@@ -97,6 +114,74 @@ public final class SQLiteConnectionManager implements ConnectionPool {
         totalConnections = 0;
     }
 
+    public synchronized Connection openDedicatedConnection() throws SQLException {
+        refuseDuringSwap();
+        ensureDatabaseFileExists();
+        leasedConnections++;
+        try {
+            return createConnection();
+        } catch (SQLException | RuntimeException ex) {
+            leasedConnections--;
+            throw ex;
+        }
+    }
+
+    public synchronized void closeDedicatedConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        release();
+        closeQuietly(connection);
+    }
+
+    /**
+     * Waits for every lease to be returned, then replaces the database file. Borrows made while the swap
+     * drains fail instead of waiting: a caller that already holds a lease, or hands work to one that does,
+     * would otherwise keep that lease until the drain times out.
+     */
+    public synchronized void swapDatabase(Path replacement, Duration drainTimeout) throws SQLException {
+        refuseDuringSwap();
+        swapping = true;
+        try {
+            long deadline = System.nanoTime() + drainTimeout.toNanos();
+            while (leasedConnections > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLException("Database is still in use; " + leasedConnections + " connection(s) did not drain.");
+                }
+                wait(Math.max(1, remaining / 1_000_000L));
+            }
+            close();
+
+            Path target = DatabaseConfig.databasePath();
+            Files.move(replacement, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(target.resolveSibling(target.getFileName() + "-wal"));
+            Files.deleteIfExists(target.resolveSibling(target.getFileName() + "-shm"));
+            LOGGER.info(() -> "Connection pool re-targeted to restored database " + target);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while draining database connections.", interruptedException);
+        } catch (IOException ex) {
+            throw new SQLException("Unable to replace database file.", ex);
+        } finally {
+            swapping = false;
+            notifyAll();
+        }
+    }
+
+    private void refuseDuringSwap() throws SQLException {
+        if (swapping) {
+            throw new SQLException("Database restore in progress.");
+        }
+    }
+
+    private void release() {
+        leasedConnections = Math.max(0, leasedConnections - 1);
+        if (swapping) {
+            notifyAll();
+        }
+    }
+
     private void ensureDatabaseFileExists() throws SQLException {
         try {
             Path path = DatabaseConfig.databasePath();
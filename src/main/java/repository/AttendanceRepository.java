@@ -10,17 +10,68 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import model.AttendanceRecord;
 
 public class AttendanceRepository {
     private static final String INSERT_SQL = "INSERT INTO attendance(employee_id, date, status, created_at, updated_at) VALUES(?, ?, ?, ?, ?)";
     private static final String UPDATE_SQL = "UPDATE attendance SET employee_id = ?, date = ?, status = ?, updated_at = ? WHERE id = ?";
     private static final String DELETE_SQL = "DELETE FROM attendance WHERE id = ?";
+    private static final String FIND_BY_ID_SQL = "SELECT id, employee_id, date, status, created_at, updated_at FROM attendance WHERE id = ?";
+    private static final String ALL_DAYS_SQL = "SELECT employee_id, date, status FROM attendance";
     private static final String FIND_BY_EMPLOYEE = "SELECT id, employee_id, date, status, created_at, updated_at FROM attendance WHERE employee_id = ? ORDER BY date DESC";
     private static final String FIND_BY_MONTH = "SELECT id, employee_id, date, status, created_at, updated_at FROM attendance WHERE substr(date, 1, 7) = ? ORDER BY date DESC, employee_id";
     private static final String FIND_BY_EMPLOYEE_MONTH = "SELECT id, employee_id, date, status, created_at, updated_at FROM attendance WHERE employee_id = ? AND substr(date, 1, 7) = ? ORDER BY date DESC";
     private static final String EXISTS_DUPLICATE = "SELECT 1 FROM attendance WHERE employee_id = ? AND date = ? AND id <> ? LIMIT 1";
+    private static final String COUNT_RANGE_SQL = "SELECT COUNT(*) AS c FROM attendance WHERE date BETWEEN ? AND ?";
+    private static final String PAGE_COLUMNS = "id, employee_id, date, status, created_at, updated_at";
+    private static final String PAGE_COUNT_SQL = "SELECT COUNT(*) AS c FROM attendance WHERE date >= ? AND date < ?%s";
+    private static final String PAGE_BOUNDARIES_SQL = """
+            SELECT date, employee_id FROM (
+                SELECT date, employee_id, row_number() OVER (ORDER BY date DESC, employee_id) AS rn
+                FROM attendance
+                WHERE date >= ? AND date < ?%s
+            )
+            WHERE rn %% ? = 0
+            ORDER BY rn
+            """;
+    private static final String PAGE_SQL = "SELECT " + PAGE_COLUMNS
+            + " FROM attendance WHERE date >= ? AND date < ?%s ORDER BY date DESC, employee_id LIMIT ?";
+    private static final String PAGE_SAME_DATE_SQL = "SELECT " + PAGE_COLUMNS
+            + " FROM attendance WHERE date = ? AND employee_id > ?%s ORDER BY employee_id LIMIT ?";
+    private static final String EXPORT_RANGE_SQL = """
+            SELECT COALESCE(e.full_name, 'Unknown') AS employee_name, a.date, a.status
+            FROM attendance a
+            LEFT JOIN employees e ON e.id = a.employee_id
+            WHERE a.date BETWEEN ? AND ?
+            ORDER BY a.date, a.employee_id
+            """;
+    private static final String AGG_ALL_MONTH_SQL = """
+            SELECT
+                employee_id,
+                SUM(CASE WHEN status='PRESENT' THEN 1 ELSE 0 END) AS present_count,
+                SUM(CASE WHEN status='ABSENT' THEN 1 ELSE 0 END) AS absent_count,
+                SUM(CASE WHEN status='LATE' THEN 1 ELSE 0 END) AS late_count,
+                SUM(CASE WHEN status='HALF_DAY' THEN 1 ELSE 0 END) AS half_count
+            FROM attendance
+            WHERE date >= ? AND date < ?
+            GROUP BY employee_id
+            """;
+    private static final String AGG_RANGE_BY_MONTH_SQL = """
+            SELECT
+                substr(date, 1, 7) AS month,
+                employee_id,
+                SUM(CASE WHEN status='PRESENT' THEN 1 ELSE 0 END) AS present_count,
+                SUM(CASE WHEN status='ABSENT' THEN 1 ELSE 0 END) AS absent_count,
+                SUM(CASE WHEN status='LATE' THEN 1 ELSE 0 END) AS late_count,
+                SUM(CASE WHEN status='HALF_DAY' THEN 1 ELSE 0 END) AS half_count
+            FROM attendance
+            WHERE date >= ? AND date < ?
+            GROUP BY substr(date, 1, 7), employee_id
+            ORDER BY month
+            """;
     private static final String AGG_MONTH_SQL = """
             SELECT
                 SUM(CASE WHEN status='PRESENT' THEN 1 ELSE 0 END) AS present_count,
@@ -34,6 +85,18 @@ public class AttendanceRepository {
     public record MonthlyStatusTotals(int present, int absent, int late, int halfDay) {
     }
 
+    public record EmployeeMonthTotals(YearMonth month, long employeeId, MonthlyStatusTotals totals) {
+    }
+
+    public record AttendanceDay(long employeeId, LocalDate date, AttendanceRecord.Status status) {
+    }
+
+    public record ExportRow(String employeeName, String date, String status) {
+    }
+
+    public record PageKey(LocalDate date, long employeeId) {
+    }
+
     public void ensureSchema() throws SQLException {
         synchronized (SQLiteConnectionManager.schemaLock()) {
             String tableSql = """
@@ -48,6 +111,8 @@ public class AttendanceRepository {
                     )
                     """;
             String idxEmployee = "CREATE INDEX IF NOT EXISTS idx_attendance_employee_id ON attendance(employee_id)";
+            String idxDate = "CREATE INDEX IF NOT EXISTS idx_attendance_date ON attendance(date)";
+            String idxPage = "CREATE INDEX IF NOT EXISTS idx_attendance_date_desc_employee ON attendance(date DESC, employee_id)";
 
             Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
             try (PreparedStatement table = connection.prepareStatement(tableSql)) {
@@ -56,6 +121,14 @@ public class AttendanceRepository {
 
             try (PreparedStatement idx = connection.prepareStatement(idxEmployee)) {
                 idx.executeUpdate();
+            }
+
+            try (PreparedStatement idx = connection.prepareStatement(idxDate)) {
+                idx.executeUpdate();
+            }
+
+            try (PreparedStatement idx = connection.prepareStatement(idxPage)) {
+                idx.executeUpdate();
             } finally {
                 SQLiteConnectionManager.getInstance().returnConnection(connection);
             }
@@ -81,11 +154,11 @@ public class AttendanceRepository {
     public boolean update(AttendanceRecord record) throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
-            statement.setLong(1, record.getEmployeeId());
-            statement.setString(2, record.getDate().toString());
-            statement.setString(3, record.getStatus().name());
-            statement.setString(4, asText(record.getUpdatedAt()));
-            statement.setLong(5, record.getId());
+            statement.setLong(1, record.employeeId());
+            statement.setString(2, record.date().toString());
+            statement.setString(3, record.status().name());
+            statement.setString(4, asText(record.updatedAt()));
+            statement.setLong(5, record.id());
             return statement.executeUpdate() > 0;
         } finally {
             SQLiteConnectionManager.getInstance().returnConnection(connection);
@@ -132,6 +205,43 @@ public class AttendanceRepository {
         }
     }
 
+    public List<AttendanceRecord> findByIds(List<Long> ids) throws SQLException {
+        List<AttendanceRecord> records = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return records;
+        }
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_BY_ID_SQL)) {
+            for (Long id : ids) {
+                statement.setLong(1, id);
+                try (ResultSet rs = statement.executeQuery()) {
+                    records.addAll(mapRows(rs));
+                }
+            }
+            return records;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    public void streamDays(RowCallback<AttendanceDay> callback) throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(ALL_DAYS_SQL)) {
+            statement.setFetchSize(1_000);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    AttendanceDay day = new AttendanceDay(rs.getLong("employee_id"), LocalDate.parse(rs.getString("date")),
+                            AttendanceRecord.Status.valueOf(rs.getString("status")));
+                    if (!callback.onRow(day)) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
     public List<AttendanceRecord> findByEmployee(long employeeId) throws SQLException {
         return query(FIND_BY_EMPLOYEE, st -> st.setLong(1, employeeId));
     }
@@ -147,6 +257,83 @@ public class AttendanceRepository {
         });
     }
 
+    /**
+     * Pages a month in the attendance table order (newest date first, then employee id), optionally
+     * narrowed to one employee.
+     */
+    public KeysetPager<AttendanceRecord, PageKey> monthPager(YearMonth month, Long employeeId) {
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        String filter = employeeId == null ? "" : " AND employee_id = ?";
+        String countSql = PAGE_COUNT_SQL.formatted(filter);
+        String boundariesSql = PAGE_BOUNDARIES_SQL.formatted(filter);
+        String pageSql = PAGE_SQL.formatted(filter);
+        String sameDateSql = PAGE_SAME_DATE_SQL.formatted(filter);
+        return new KeysetPager<>() {
+            @Override
+            public int count() throws SQLException {
+                Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+                try (PreparedStatement statement = connection.prepareStatement(countSql)) {
+                    bindPageRange(statement, from, to, employeeId);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next() ? rs.getInt("c") : 0;
+                    }
+                } finally {
+                    SQLiteConnectionManager.getInstance().returnConnection(connection);
+                }
+            }
+
+            @Override
+            public List<PageKey> boundaries(int pageSize) throws SQLException {
+                Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+                try (PreparedStatement statement = connection.prepareStatement(boundariesSql)) {
+                    int next = bindPageRange(statement, from, to, employeeId);
+                    statement.setInt(next, pageSize);
+                    List<PageKey> keys = new ArrayList<>();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            keys.add(new PageKey(LocalDate.parse(rs.getString("date")), rs.getLong("employee_id")));
+                        }
+                    }
+                    return keys;
+                } finally {
+                    SQLiteConnectionManager.getInstance().returnConnection(connection);
+                }
+            }
+
+            @Override
+            public List<AttendanceRecord> pageAfter(PageKey after, int limit) throws SQLException {
+                if (after == null) {
+                    return query(pageSql, st -> st.setInt(bindPageRange(st, from, to, employeeId), limit));
+                }
+                List<AttendanceRecord> page = query(sameDateSql, st -> {
+                    st.setString(1, after.date().toString());
+                    st.setLong(2, after.employeeId());
+                    int next = 3;
+                    if (employeeId != null) {
+                        st.setLong(next++, employeeId);
+                    }
+                    st.setInt(next, limit);
+                });
+                if (page.size() < limit) {
+                    int remaining = limit - page.size();
+                    page.addAll(query(pageSql, st -> st.setInt(bindPageRange(st, from, after.date().toString(), employeeId), remaining)));
+                }
+                return page;
+            }
+        };
+    }
+
+    private static int bindPageRange(PreparedStatement statement, String from, String to, Long employeeId) throws SQLException {
+        statement.setString(1, from);
+        statement.setString(2, to);
+        if (employeeId == null) {
+            return 3;
+        }
+        statement.setLong(3, employeeId);
+        return 4;
+    }
+
     public boolean existsDuplicate(long employeeId, LocalDate date, long excludeId) throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement statement = connection.prepareStatement(EXISTS_DUPLICATE)) {
@@ -181,6 +368,86 @@ public class AttendanceRepository {
         }
     }
 
+    public Map<Long, MonthlyStatusTotals> aggregateAllByMonth(YearMonth month) throws SQLException {
+        Map<Long, MonthlyStatusTotals> totals = new HashMap<>();
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(AGG_ALL_MONTH_SQL)) {
+            statement.setString(1, month.atDay(1).toString());
+            statement.setString(2, month.plusMonths(1).atDay(1).toString());
+            statement.setFetchSize(1000);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(rs.getLong("employee_id"), new MonthlyStatusTotals(
+                            rs.getInt("present_count"),
+                            rs.getInt("absent_count"),
+                            rs.getInt("late_count"),
+                            rs.getInt("half_count")));
+                }
+            }
+            return totals;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    public void streamMonthlyTotals(YearMonth from, YearMonth to, RowCallback<EmployeeMonthTotals> callback) throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(AGG_RANGE_BY_MONTH_SQL)) {
+            statement.setString(1, from.atDay(1).toString());
+            statement.setString(2, to.plusMonths(1).atDay(1).toString());
+            statement.setFetchSize(1_000);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    EmployeeMonthTotals row = new EmployeeMonthTotals(
+                            YearMonth.parse(rs.getString("month")),
+                            rs.getLong("employee_id"),
+                            new MonthlyStatusTotals(
+                                    rs.getInt("present_count"),
+                                    rs.getInt("absent_count"),
+                                    rs.getInt("late_count"),
+                                    rs.getInt("half_count")));
+                    if (!callback.onRow(row)) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    public int countByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_RANGE_SQL)) {
+            statement.setString(1, from.toString());
+            statement.setString(2, to.toString());
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt("c") : 0;
+            }
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    public void streamWithEmployeeNames(LocalDate from, LocalDate to, RowCallback<ExportRow> callback) throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(EXPORT_RANGE_SQL)) {
+            statement.setString(1, from.toString());
+            statement.setString(2, to.toString());
+            statement.setFetchSize(1_000);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ExportRow row = new ExportRow(rs.getString("employee_name"), rs.getString("date"), rs.getString("status"));
+                    if (!callback.onRow(row)) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
     private interface StatementBinder {
         void bind(PreparedStatement statement) throws SQLException;
     }
@@ -212,11 +479,11 @@ public class AttendanceRepository {
     }
 
     private void bindSave(PreparedStatement statement, AttendanceRecord record) throws SQLException {
-        statement.setLong(1, record.getEmployeeId());
-        statement.setString(2, record.getDate().toString());
-        statement.setString(3, record.getStatus().name());
-        statement.setString(4, asText(record.getCreatedAt()));
-        statement.setString(5, asText(record.getUpdatedAt()));
+        statement.setLong(1, record.employeeId());
+        statement.setString(2, record.date().toString());
+        statement.setString(3, record.status().name());
+        statement.setString(4, asText(record.createdAt()));
+        statement.setString(5, asText(record.updatedAt()));
     }
 
     private String asText(LocalDateTime dateTime) {
@@ -8,7 +8,9 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import model.Employee;
 
 public class EmployeeRepository {
@@ -20,6 +22,12 @@ public class EmployeeRepository {
     private static final String EXISTS_DUPLICATE_SQL = "SELECT 1 FROM employees WHERE full_name = ? AND position = ? LIMIT 1";
     private static final String EXISTS_DUPLICATE_EXCEPT_SQL = "SELECT 1 FROM employees WHERE full_name = ? AND position = ? AND id <> ? LIMIT 1";
     private static final String EXISTS_ID_SQL = "SELECT 1 FROM employees WHERE id = ? LIMIT 1";
+    private static final String COUNT_SQL = "SELECT COUNT(*) AS c FROM employees";
+    private static final String NAME_POSITION_KEYS_SQL = "SELECT full_name, position FROM employees";
+    private static final String COLUMNS = "id, full_name, position, monthly_salary, created_at, updated_at";
+
+    public record PageKey(Object sortValue, long id) {
+    }
 
     public void ensureSchema() throws SQLException {
         synchronized (SQLiteConnectionManager.schemaLock()) {
@@ -35,6 +43,7 @@ public class EmployeeRepository {
                     """;
             String nameIndex = "CREATE INDEX IF NOT EXISTS idx_employees_full_name ON employees(full_name)";
             String posIndex = "CREATE INDEX IF NOT EXISTS idx_employees_position ON employees(position)";
+            String salaryIndex = "CREATE INDEX IF NOT EXISTS idx_employees_monthly_salary ON employees(monthly_salary)";
 
             Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
             try (PreparedStatement table = connection.prepareStatement(tableSql)) {
@@ -47,6 +56,10 @@ public class EmployeeRepository {
 
             try (PreparedStatement idx2 = connection.prepareStatement(posIndex)) {
                 idx2.executeUpdate();
+            }
+
+            try (PreparedStatement idx3 = connection.prepareStatement(salaryIndex)) {
+                idx3.executeUpdate();
             } finally {
                 SQLiteConnectionManager.getInstance().returnConnection(connection);
             }
@@ -56,11 +69,11 @@ public class EmployeeRepository {
     public Employee save(Employee employee) throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
-            statement.setString(1, employee.getFullName());
-            statement.setString(2, employee.getPosition());
-            statement.setDouble(3, employee.getMonthlySalary());
-            statement.setString(4, asText(employee.getCreatedAt()));
-            statement.setString(5, asText(employee.getUpdatedAt()));
+            statement.setString(1, employee.fullName());
+            statement.setString(2, employee.position());
+            statement.setDouble(3, employee.monthlySalary());
+            statement.setString(4, asText(employee.createdAt()));
+            statement.setString(5, asText(employee.updatedAt()));
             statement.executeUpdate();
 
             try (ResultSet keys = statement.getGeneratedKeys()) {
@@ -74,14 +87,49 @@ public class EmployeeRepository {
         }
     }
 
+    public int saveBatch(List<Employee> employees) throws SQLException {
+        if (employees == null || employees.isEmpty()) {
+            return 0;
+        }
+
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            for (Employee employee : employees) {
+                statement.setString(1, employee.fullName());
+                statement.setString(2, employee.position());
+                statement.setDouble(3, employee.monthlySalary());
+                statement.setString(4, asText(employee.createdAt()));
+                statement.setString(5, asText(employee.updatedAt()));
+                statement.addBatch();
+            }
+            int[] results = statement.executeBatch();
+            connection.commit();
+            int affected = 0;
+            for (int result : results) {
+                if (result > 0) {
+                    affected++;
+                }
+            }
+            return affected;
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
     public boolean update(Employee employee) throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
-            statement.setString(1, employee.getFullName());
-            statement.setString(2, employee.getPosition());
-            statement.setDouble(3, employee.getMonthlySalary());
-            statement.setString(4, asText(employee.getUpdatedAt()));
-            statement.setLong(5, employee.getId());
+            statement.setString(1, employee.fullName());
+            statement.setString(2, employee.position());
+            statement.setDouble(3, employee.monthlySalary());
+            statement.setString(4, asText(employee.updatedAt()));
+            statement.setLong(5, employee.id());
             return statement.executeUpdate() > 0;
         } finally {
             SQLiteConnectionManager.getInstance().returnConnection(connection);
@@ -129,6 +177,16 @@ public class EmployeeRepository {
         }
     }
 
+    public int count() throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_SQL);
+                ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getInt("c") : 0;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
     public List<Employee> findAll() throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL);
@@ -142,7 +200,7 @@ public class EmployeeRepository {
     public List<Employee> search(String keyword) throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement statement = connection.prepareStatement(SEARCH_SQL)) {
-            String token = "%" + keyword.toLowerCase() + "%";
+            String token = "%" + searchKey(keyword) + "%";
             statement.setString(1, token);
             statement.setString(2, token);
             try (ResultSet rs = statement.executeQuery()) {
@@ -154,28 +212,126 @@ public class EmployeeRepository {
     }
 
     public List<Employee> findFiltered(String keyword, String position, String sortKey) throws SQLException {
-        StringBuilder sql = new StringBuilder("SELECT id, full_name, position, monthly_salary, created_at, updated_at FROM employees WHERE 1=1");
         List<Object> params = new ArrayList<>();
+        String sql = "SELECT " + COLUMNS + " FROM employees WHERE 1=1" + filterClause(keyword, position, params)
+                + " ORDER BY " + resolveSort(sortKey);
+        return query(sql, params);
+    }
 
+    /**
+     * Keyset pages over the same filter and order as {@link #findFiltered}. Every order ends in
+     * {@code id DESC}, so the page key is the sort column value plus the id.
+     */
+    public KeysetPager<Employee, PageKey> filteredPager(String keyword, String position, String sortKey) {
+        List<Object> filterParams = new ArrayList<>();
+        String where = " WHERE 1=1" + filterClause(keyword, position, filterParams);
+        String order = resolveSort(sortKey);
+        String sortColumn = sortColumn(sortKey);
+        boolean ascending = order.startsWith(sortColumn + " ASC");
+        return new KeysetPager<>() {
+            @Override
+            public int count() throws SQLException {
+                Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+                try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) AS c FROM employees" + where)) {
+                    bind(statement, filterParams);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next() ? rs.getInt("c") : 0;
+                    }
+                } finally {
+                    SQLiteConnectionManager.getInstance().returnConnection(connection);
+                }
+            }
+
+            @Override
+            public List<PageKey> boundaries(int pageSize) throws SQLException {
+                String sql = "SELECT sort_value, id FROM ("
+                        + "SELECT " + sortColumn + " AS sort_value, id, row_number() OVER (ORDER BY " + order + ") AS rn FROM employees" + where
+                        + ") WHERE rn % ? = 0 ORDER BY rn";
+                List<Object> params = new ArrayList<>(filterParams);
+                params.add(pageSize);
+                Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    bind(statement, params);
+                    List<PageKey> keys = new ArrayList<>();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            keys.add(new PageKey(rs.getObject("sort_value"), rs.getLong("id")));
+                        }
+                    }
+                    return keys;
+                } finally {
+                    SQLiteConnectionManager.getInstance().returnConnection(connection);
+                }
+            }
+
+            @Override
+            public List<Employee> pageAfter(PageKey after, int limit) throws SQLException {
+                if (after == null) {
+                    return page("", List.of(), limit);
+                }
+                if (sortColumn.equals("id")) {
+                    return page(" AND id < ?", List.of(after.id()), limit);
+                }
+                // Rest of the current sort group first, then the following groups; each step stays on an index.
+                List<Object> params = new ArrayList<>(filterParams);
+                params.add(after.sortValue());
+                params.add(after.id());
+                params.add(limit);
+                List<Employee> rows = query("SELECT " + COLUMNS + " FROM employees" + where + " AND " + sortColumn
+                        + " = ? AND id < ? ORDER BY id DESC LIMIT ?", params);
+                if (rows.size() < limit) {
+                    String nextGroups = " AND " + sortColumn + (ascending ? " > ?" : " < ?");
+                    rows.addAll(page(nextGroups, List.of(after.sortValue()), limit - rows.size()));
+                }
+                return rows;
+            }
+
+            private List<Employee> page(String keyset, List<Object> keyParams, int limit) throws SQLException {
+                List<Object> params = new ArrayList<>(filterParams);
+                params.addAll(keyParams);
+                params.add(limit);
+                return query("SELECT " + COLUMNS + " FROM employees" + where + keyset + " ORDER BY " + order + " LIMIT ?", params);
+            }
+        };
+    }
+
+    /**
+     * Lowercases A-Z only, as SQLite's {@code lower()} and {@code LIKE} do, so a keyword matches the same
+     * rows here and in any in-memory filter that uses this key.
+     */
+    public static String searchKey(String value) {
+        if (value == null) {
+            return "";
+        }
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    private String filterClause(String keyword, String position, List<Object> params) {
+        StringBuilder clause = new StringBuilder();
         if (keyword != null && !keyword.isBlank()) {
-            sql.append(" AND (lower(full_name) LIKE ? OR lower(position) LIKE ?)");
-            String token = "%" + keyword.toLowerCase() + "%";
+            clause.append(" AND (lower(full_name) LIKE ? OR lower(position) LIKE ?)");
+            String token = "%" + searchKey(keyword) + "%";
             params.add(token);
             params.add(token);
         }
 
         if (position != null && !position.isBlank()) {
-            sql.append(" AND position = ?");
+            clause.append(" AND position = ?");
             params.add(position);
         }
+        return clause.toString();
+    }
 
-        sql.append(" ORDER BY ").append(resolveSort(sortKey));
-
+    private List<Employee> query(String sql, List<Object> params) throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
-        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
-            for (int i = 0; i < params.size(); i++) {
-                statement.setObject(i + 1, params.get(i));
-            }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, params);
             try (ResultSet rs = statement.executeQuery()) {
                 return mapRows(rs);
             }
@@ -184,6 +340,12 @@ public class EmployeeRepository {
         }
     }
 
+    private static void bind(PreparedStatement statement, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            statement.setObject(i + 1, params.get(i));
+        }
+    }
+
     public List<String> findDistinctPositions() throws SQLException {
         String sql = "SELECT DISTINCT position FROM employees WHERE position IS NOT NULL AND trim(position) <> '' ORDER BY position";
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
@@ -199,6 +361,23 @@ public class EmployeeRepository {
         }
     }
 
+    public Set<String> findNamePositionKeys() throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement(NAME_POSITION_KEYS_SQL);
+                ResultSet rs = statement.executeQuery()) {
+            Set<String> keys = new HashSet<>();
+            while (rs.next()) {
+                keys.add(namePositionKey(rs.getString("full_name"), rs.getString("position")));
+            }
+            return keys;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    public static String namePositionKey(String fullName, String position) {
+        return fullName + "|" + position;
+    }
 
     public boolean existsById(long id) throws SQLException {
         Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
@@ -252,6 +431,11 @@ public class EmployeeRepository {
         return text == null ? null : Timestamp.valueOf(text).toLocalDateTime();
     }
 
+    private String sortColumn(String sortKey) {
+        String order = resolveSort(sortKey);
+        return order.substring(0, order.indexOf(' '));
+    }
+
     private String resolveSort(String sortKey) {
         if (sortKey == null) {
             return "id DESC";
@@ -0,0 +1,16 @@
+package repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Keyset-paged view over one ordered query. {@code boundaries} returns the key of the last row of
+ * every full page so any page can be fetched with {@code pageAfter} without an OFFSET scan.
+ */
+public interface KeysetPager<T, K> {
+    int count() throws SQLException;
+
+    List<K> boundaries(int pageSize) throws SQLException;
+
+    List<T> pageAfter(K after, int limit) throws SQLException;
+}
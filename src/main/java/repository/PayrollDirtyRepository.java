@@ -0,0 +1,152 @@
+package repository;
+
+import database.SQLiteConnectionManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class PayrollDirtyRepository {
+    private static final String MARK_EMPLOYEE_MONTH_SQL = """
+            INSERT OR REPLACE INTO payroll_dirty(employee_id, month)
+            SELECT employee_id, month FROM payroll WHERE employee_id = ? AND month = ? AND status = 'UNPAID'
+            """;
+    private static final String MARK_EMPLOYEE_SQL = """
+            INSERT OR REPLACE INTO payroll_dirty(employee_id, month)
+            SELECT employee_id, month FROM payroll WHERE employee_id = ? AND status = 'UNPAID'
+            """;
+    private static final String MARK_ALL_UNPAID_SQL = """
+            INSERT OR REPLACE INTO payroll_dirty(employee_id, month)
+            SELECT employee_id, month FROM payroll WHERE status = 'UNPAID'
+            """;
+    private static final String NEXT_BATCH_SQL = """
+            SELECT d.id AS dirty_id, d.employee_id, d.month, p.id AS payroll_id, e.monthly_salary
+            FROM payroll_dirty d
+            LEFT JOIN payroll p ON p.employee_id = d.employee_id AND p.month = d.month AND p.status = 'UNPAID'
+            LEFT JOIN employees e ON e.id = d.employee_id
+            ORDER BY d.id
+            LIMIT ?
+            """;
+    private static final String CLEAR_SQL = "DELETE FROM payroll_dirty WHERE id = ?";
+    private static final String PENDING_SQL = "SELECT COUNT(*) AS c FROM payroll_dirty";
+
+    public record DirtyKey(long employeeId, YearMonth month) {
+        public static DirtyKey of(long employeeId, LocalDate date) {
+            return new DirtyKey(employeeId, YearMonth.from(date));
+        }
+    }
+
+    public record DirtyEntry(long dirtyId, long employeeId, YearMonth month, Long payrollId, Double monthlySalary) {
+        public boolean recalculable() {
+            return payrollId != null && monthlySalary != null;
+        }
+    }
+
+    public void ensureSchema() throws SQLException {
+        synchronized (SQLiteConnectionManager.schemaLock()) {
+            String tableSql = """
+                    CREATE TABLE IF NOT EXISTS payroll_dirty (
+                      id INTEGER PRIMARY KEY AUTOINCREMENT,
+                      employee_id INTEGER NOT NULL,
+                      month TEXT NOT NULL,
+                      UNIQUE(employee_id, month)
+                    )
+                    """;
+            Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+            try (PreparedStatement t = c.prepareStatement(tableSql)) {
+                t.executeUpdate();
+            } finally {
+                SQLiteConnectionManager.getInstance().returnConnection(c);
+            }
+        }
+    }
+
+    public int mark(Collection<DirtyKey> keys) throws SQLException {
+        if (keys == null || keys.isEmpty()) return 0;
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(MARK_EMPLOYEE_MONTH_SQL)) {
+            int marked = 0;
+            for (DirtyKey key : keys) {
+                s.setLong(1, key.employeeId());
+                s.setString(2, key.month().toString());
+                marked += s.executeUpdate();
+            }
+            return marked;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public int markEmployee(long employeeId) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(MARK_EMPLOYEE_SQL)) {
+            s.setLong(1, employeeId);
+            return s.executeUpdate();
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public int markAllUnpaid() throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(MARK_ALL_UNPAID_SQL)) {
+            return s.executeUpdate();
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public List<DirtyEntry> nextBatch(int limit) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(NEXT_BATCH_SQL)) {
+            s.setInt(1, limit);
+            List<DirtyEntry> entries = new ArrayList<>();
+            try (ResultSet rs = s.executeQuery()) {
+                while (rs.next()) {
+                    long payrollId = rs.getLong("payroll_id");
+                    Long payroll = rs.wasNull() ? null : payrollId;
+                    double salary = rs.getDouble("monthly_salary");
+                    Double monthlySalary = rs.wasNull() ? null : salary;
+                    entries.add(new DirtyEntry(rs.getLong("dirty_id"), rs.getLong("employee_id"),
+                            YearMonth.parse(rs.getString("month")), payroll, monthlySalary));
+                }
+            }
+            return entries;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public void clear(List<Long> dirtyIds) throws SQLException {
+        if (dirtyIds == null || dirtyIds.isEmpty()) return;
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        boolean auto = c.getAutoCommit();
+        try (PreparedStatement s = c.prepareStatement(CLEAR_SQL)) {
+            c.setAutoCommit(false);
+            for (Long id : dirtyIds) { s.setLong(1, id); s.addBatch(); }
+            s.executeBatch();
+            c.commit();
+        } catch (SQLException ex) {
+            c.rollback();
+            throw ex;
+        } finally {
+            c.setAutoCommit(auto);
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public int countPending() throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(PENDING_SQL);
+                ResultSet rs = s.executeQuery()) {
+            return rs.next() ? rs.getInt("c") : 0;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+}
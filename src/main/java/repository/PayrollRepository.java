@@ -5,55 +5,202 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import model.PayrollRecord;
+import org.sqlite.Function;
 
 public class PayrollRepository {
-    private static final String INSERT_SQL = "INSERT INTO payroll(employee_id, month, base_salary, effective_work_days, required_work_days, computed_salary, status, processed_at, created_at, updated_at) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SQL = "INSERT INTO payroll(employee_id, month, base_salary_cents, effective_work_days, required_work_days, computed_salary_cents, status, processed_at, created_at, updated_at) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IGNORE_SQL = INSERT_SQL + " ON CONFLICT(employee_id, month) DO NOTHING";
+    private static final String UPDATE_COMPUTATION_SQL = "UPDATE payroll SET base_salary_cents = ?, effective_work_days = ?, required_work_days = ?, computed_salary_cents = ?, updated_at = ? WHERE id = ? AND status = 'UNPAID'";
     private static final String UPDATE_STATUS_SQL = "UPDATE payroll SET status = ?, processed_at = ?, updated_at = ? WHERE id = ?";
     private static final String FIND_BY_MONTH_SQL = "SELECT * FROM payroll WHERE month = ? ORDER BY employee_id";
     private static final String FIND_BY_EMP_MONTH_SQL = "SELECT * FROM payroll WHERE employee_id = ? AND month = ? LIMIT 1";
     private static final String DELETE_SQL = "DELETE FROM payroll WHERE id = ?";
+    private static final String EMPLOYEE_IDS_BY_MONTH_SQL = "SELECT employee_id FROM payroll WHERE month = ?";
     private static final String COUNT_MONTH_SQL = "SELECT COUNT(*) AS c FROM payroll WHERE month = ?";
+    private static final String PAGE_BOUNDARIES_SQL = """
+            SELECT employee_id FROM (
+                SELECT employee_id, row_number() OVER (ORDER BY employee_id) AS rn FROM payroll WHERE month = ?
+            )
+            WHERE rn % ? = 0
+            ORDER BY rn
+            """;
+    private static final String PAGE_SQL = "SELECT * FROM payroll WHERE month = ? AND employee_id > ? ORDER BY employee_id LIMIT ?";
     private static final String RECENT_SQL = "SELECT processed_at FROM payroll WHERE processed_at IS NOT NULL ORDER BY processed_at DESC LIMIT 1";
+    private static final String COUNT_RANGE_SQL = "SELECT COUNT(*) AS c FROM payroll WHERE month BETWEEN ? AND ?";
+    private static final String COUNT_RANGE_BY_MONTH_SQL = "SELECT month, COUNT(*) AS c FROM payroll WHERE month BETWEEN ? AND ? GROUP BY month";
+    private static final String EXPORT_RANGE_SQL = """
+            SELECT COALESCE(e.full_name, 'Unknown') AS employee_name, p.month, p.base_salary_cents, p.effective_work_days,
+                   p.required_work_days, p.computed_salary_cents, p.status, p.processed_at
+            FROM payroll p
+            LEFT JOIN employees e ON e.id = p.employee_id
+            WHERE p.month BETWEEN ? AND ?
+            ORDER BY p.month, p.employee_id
+            """;
+
+    private static final String FN_EFFECTIVE_DAYS = "payroll_effective_days";
+    private static final String FN_COMPUTE_SALARY = "payroll_compute_salary";
+    private static final String FN_SALARY_CENTS = "payroll_salary_cents";
+    private static final String CENTS_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS %s (
+              id INTEGER PRIMARY KEY,
+              employee_id INTEGER NOT NULL,
+              month TEXT NOT NULL,
+              base_salary_cents INTEGER NOT NULL,
+              effective_work_days REAL NOT NULL,
+              required_work_days REAL NOT NULL,
+              computed_salary_cents INTEGER NOT NULL,
+              status TEXT NOT NULL,
+              processed_at TEXT,
+              created_at TEXT,
+              updated_at TEXT,
+              UNIQUE(employee_id, month)
+            )
+            """;
+    private static final String MIGRATE_CENTS_SQL = """
+            INSERT INTO payroll_cents(id, employee_id, month, base_salary_cents, effective_work_days, required_work_days,
+                                      computed_salary_cents, status, processed_at, created_at, updated_at)
+            SELECT id, employee_id, month, CAST(ROUND(base_salary * 100) AS INTEGER), effective_work_days, required_work_days,
+                   CAST(ROUND(computed_salary * 100) AS INTEGER), status, processed_at, created_at, updated_at
+            FROM payroll
+            """;
+    private static final String GENERATE_MONTH_SQL = """
+            INSERT INTO payroll(employee_id, month, base_salary_cents, effective_work_days, required_work_days, computed_salary_cents,
+                                status, processed_at, created_at, updated_at)
+            SELECT employee_id, ?, salary_cents, effective, ?, payroll_compute_salary(salary_cents, effective, ?),
+                   'UNPAID', NULL, ?, ?
+            FROM (
+                SELECT e.id AS employee_id, payroll_salary_cents(e.monthly_salary) AS salary_cents,
+                       payroll_effective_days(COALESCE(a.present_count, 0), COALESCE(a.absent_count, 0),
+                                              COALESCE(a.late_count, 0), COALESCE(a.half_count, 0)) AS effective
+                FROM employees e
+                LEFT JOIN (
+                    SELECT employee_id,
+                           SUM(CASE WHEN status='PRESENT' THEN 1 ELSE 0 END) AS present_count,
+                           SUM(CASE WHEN status='ABSENT' THEN 1 ELSE 0 END) AS absent_count,
+                           SUM(CASE WHEN status='LATE' THEN 1 ELSE 0 END) AS late_count,
+                           SUM(CASE WHEN status='HALF_DAY' THEN 1 ELSE 0 END) AS half_count
+                    FROM attendance
+                    WHERE date >= ? AND date < ?
+                    GROUP BY employee_id
+                ) a ON a.employee_id = e.id
+            )
+            WHERE true
+            ON CONFLICT(employee_id, month) DO NOTHING
+            """;
+
+    // One grouped attendance scan for every month in the range; %s is a "(?, ?)" row per month.
+    private static final String GENERATE_RANGE_SQL = """
+            WITH months(month, required) AS (VALUES %s)
+            INSERT INTO payroll(employee_id, month, base_salary_cents, effective_work_days, required_work_days, computed_salary_cents,
+                                status, processed_at, created_at, updated_at)
+            SELECT employee_id, month, salary_cents, effective, required, payroll_compute_salary(salary_cents, effective, required),
+                   'UNPAID', NULL, ?, ?
+            FROM (
+                SELECT e.id AS employee_id, m.month, m.required, payroll_salary_cents(e.monthly_salary) AS salary_cents,
+                       payroll_effective_days(COALESCE(a.present_count, 0), COALESCE(a.absent_count, 0),
+                                              COALESCE(a.late_count, 0), COALESCE(a.half_count, 0)) AS effective
+                FROM months m
+                CROSS JOIN employees e
+                LEFT JOIN (
+                    SELECT substr(date, 1, 7) AS month, employee_id,
+                           SUM(CASE WHEN status='PRESENT' THEN 1 ELSE 0 END) AS present_count,
+                           SUM(CASE WHEN status='ABSENT' THEN 1 ELSE 0 END) AS absent_count,
+                           SUM(CASE WHEN status='LATE' THEN 1 ELSE 0 END) AS late_count,
+                           SUM(CASE WHEN status='HALF_DAY' THEN 1 ELSE 0 END) AS half_count
+                    FROM attendance
+                    WHERE date >= ? AND date < ?
+                    GROUP BY substr(date, 1, 7), employee_id
+                ) a ON a.employee_id = e.id AND a.month = m.month
+            )
+            WHERE true
+            ON CONFLICT(employee_id, month) DO NOTHING
+            """;
+
+    public interface PayrollFormula {
+        long salaryCents(double monthlySalary);
+
+        double effectiveWorkDays(int present, int absent, int late, int halfDay);
+
+        long computeSalaryCents(long monthlySalaryCents, double effectiveWorkDays, double requiredWorkDays);
+    }
+
+    public record ExportRow(String employeeName, String month, long baseSalaryCents, double effectiveWorkDays,
+            double requiredWorkDays, long computedSalaryCents, String status, String processedAt) {
+    }
 
     public void ensureSchema() throws SQLException {
         synchronized (SQLiteConnectionManager.schemaLock()) {
-            String tableSql = """
-                    CREATE TABLE IF NOT EXISTS payroll (
-                      id INTEGER PRIMARY KEY,
-                      employee_id INTEGER NOT NULL,
-                      month TEXT NOT NULL,
-                      base_salary REAL NOT NULL,
-                      effective_work_days REAL NOT NULL,
-                      required_work_days REAL NOT NULL,
-                      computed_salary REAL NOT NULL,
-                      status TEXT NOT NULL,
-                      processed_at TEXT,
-                      created_at TEXT,
-                      updated_at TEXT,
-                      UNIQUE(employee_id, month)
-                    )
-                    """;
+            String tableSql = CENTS_TABLE_SQL.formatted("payroll");
             String idx = "CREATE INDEX IF NOT EXISTS idx_payroll_employee_id ON payroll(employee_id)";
+            String monthIdx = "CREATE INDEX IF NOT EXISTS idx_payroll_month ON payroll(month)";
+            String pageIdx = "CREATE INDEX IF NOT EXISTS idx_payroll_month_employee ON payroll(month, employee_id)";
 
             Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
             try (PreparedStatement t = c.prepareStatement(tableSql)) {
                 t.executeUpdate();
             }
 
+            migrateToCents(c);
+
             try (PreparedStatement i = c.prepareStatement(idx)) {
                 i.executeUpdate();
+            }
+
+            try (PreparedStatement m = c.prepareStatement(monthIdx)) {
+                m.executeUpdate();
+            }
+
+            try (PreparedStatement m = c.prepareStatement(pageIdx)) {
+                m.executeUpdate();
             } finally {
                 SQLiteConnectionManager.getInstance().returnConnection(c);
             }
         }
     }
 
+    private void migrateToCents(Connection c) throws SQLException {
+        if (!hasColumn(c, "base_salary")) {
+            return;
+        }
+        boolean auto = c.getAutoCommit();
+        try (Statement s = c.createStatement()) {
+            c.setAutoCommit(false);
+            s.executeUpdate("DROP TABLE IF EXISTS payroll_cents");
+            s.executeUpdate(CENTS_TABLE_SQL.formatted("payroll_cents"));
+            s.executeUpdate(MIGRATE_CENTS_SQL);
+            s.executeUpdate("DROP TABLE payroll");
+            s.executeUpdate("ALTER TABLE payroll_cents RENAME TO payroll");
+            c.commit();
+        } catch (SQLException ex) {
+            c.rollback();
+            throw ex;
+        } finally {
+            c.setAutoCommit(auto);
+        }
+    }
+
+    private boolean hasColumn(Connection c, String column) throws SQLException {
+        try (PreparedStatement s = c.prepareStatement("PRAGMA table_info(payroll)");
+                ResultSet rs = s.executeQuery()) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+            return false;
+        }
+    }
+
     public PayrollRecord save(PayrollRecord record) throws SQLException {
         Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement s = c.prepareStatement(INSERT_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
@@ -72,12 +219,145 @@ public class PayrollRepository {
         if (records == null || records.isEmpty()) return 0;
         Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
         boolean auto = c.getAutoCommit();
-        try (PreparedStatement s = c.prepareStatement(INSERT_SQL)) {
+        try {
             c.setAutoCommit(false);
+            int count = insertBatch(c, records);
+            c.commit();
+            return count;
+        } catch (SQLException ex) {
+            c.rollback();
+            throw ex;
+        } finally {
+            c.setAutoCommit(auto);
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    static int insertBatch(Connection c, List<PayrollRecord> records) throws SQLException {
+        if (records.isEmpty()) return 0;
+        try (PreparedStatement s = c.prepareStatement(INSERT_IGNORE_SQL)) {
             for (PayrollRecord r : records) {
                 bindSave(s, r);
                 s.addBatch();
             }
+            int count = 0;
+            for (int r : s.executeBatch()) if (r > 0) count++;
+            return count;
+        }
+    }
+
+    public Set<Long> findEmployeeIdsByMonth(YearMonth month) throws SQLException {
+        Set<Long> ids = new HashSet<>();
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(EMPLOYEE_IDS_BY_MONTH_SQL)) {
+            s.setString(1, month.toString());
+            try (ResultSet rs = s.executeQuery()) {
+                while (rs.next()) ids.add(rs.getLong(1));
+            }
+            return ids;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public int generateMonth(YearMonth month, int requiredWorkDays, PayrollFormula formula, LocalDateTime now) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try {
+            registerFormula(c, formula);
+            return executeGenerateMonth(c, month, requiredWorkDays, now);
+        } finally {
+            unregisterFormula(c);
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    /**
+     * Generates payroll for consecutive months in one statement. {@code requiredWorkDays} maps each month,
+     * in order, to its required days; rows that already exist are kept.
+     */
+    public int generateMonths(Map<YearMonth, Integer> requiredWorkDays, PayrollFormula formula, LocalDateTime now) throws SQLException {
+        if (requiredWorkDays.isEmpty()) return 0;
+        List<YearMonth> months = new ArrayList<>(requiredWorkDays.keySet());
+        String sql = GENERATE_RANGE_SQL.formatted(String.join(", ", Collections.nCopies(months.size(), "(?, ?)")));
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try {
+            registerFormula(c, formula);
+            try (PreparedStatement s = c.prepareStatement(sql)) {
+                int index = 1;
+                for (YearMonth month : months) {
+                    s.setString(index++, month.toString());
+                    s.setDouble(index++, requiredWorkDays.get(month));
+                }
+                s.setString(index++, asText(now));
+                s.setString(index++, asText(now));
+                s.setString(index++, months.get(0).atDay(1).toString());
+                s.setString(index, months.get(months.size() - 1).plusMonths(1).atDay(1).toString());
+                return s.executeUpdate();
+            }
+        } finally {
+            unregisterFormula(c);
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    private int executeGenerateMonth(Connection c, YearMonth month, int requiredWorkDays, LocalDateTime now) throws SQLException {
+        try (PreparedStatement s = c.prepareStatement(GENERATE_MONTH_SQL)) {
+            s.setString(1, month.toString());
+            s.setDouble(2, requiredWorkDays);
+            s.setDouble(3, requiredWorkDays);
+            s.setString(4, asText(now));
+            s.setString(5, asText(now));
+            s.setString(6, month.atDay(1).toString());
+            s.setString(7, month.plusMonths(1).atDay(1).toString());
+            return s.executeUpdate();
+        }
+    }
+
+    private void registerFormula(Connection c, PayrollFormula formula) throws SQLException {
+        Function.create(c, FN_SALARY_CENTS, new Function() {
+            @Override
+            protected void xFunc() throws SQLException {
+                result(formula.salaryCents(value_double(0)));
+            }
+        }, 1, Function.FLAG_DETERMINISTIC);
+        Function.create(c, FN_EFFECTIVE_DAYS, new Function() {
+            @Override
+            protected void xFunc() throws SQLException {
+                result(formula.effectiveWorkDays(value_int(0), value_int(1), value_int(2), value_int(3)));
+            }
+        }, 4, Function.FLAG_DETERMINISTIC);
+        Function.create(c, FN_COMPUTE_SALARY, new Function() {
+            @Override
+            protected void xFunc() throws SQLException {
+                result(formula.computeSalaryCents(value_long(0), value_double(1), value_double(2)));
+            }
+        }, 3, Function.FLAG_DETERMINISTIC);
+    }
+
+    private void unregisterFormula(Connection c) {
+        try {
+            Function.destroy(c, FN_SALARY_CENTS);
+            Function.destroy(c, FN_EFFECTIVE_DAYS);
+            Function.destroy(c, FN_COMPUTE_SALARY);
+        } catch (SQLException ignored) {
+        }
+    }
+
+    public int updateComputations(List<PayrollRecord> records) throws SQLException {
+        if (records == null || records.isEmpty()) return 0;
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        boolean auto = c.getAutoCommit();
+        try (PreparedStatement s = c.prepareStatement(UPDATE_COMPUTATION_SQL)) {
+            c.setAutoCommit(false);
+            for (PayrollRecord r : records) {
+                s.setLong(1, r.baseSalaryCents());
+                s.setDouble(2, r.effectiveWorkDays());
+                s.setDouble(3, r.requiredWorkDays());
+                s.setLong(4, r.computedSalaryCents());
+                s.setString(5, asText(r.updatedAt()));
+                s.setLong(6, r.id());
+                s.addBatch();
+            }
             int[] rs = s.executeBatch();
             c.commit();
             int count = 0;
@@ -114,6 +394,41 @@ public class PayrollRepository {
         } finally { SQLiteConnectionManager.getInstance().returnConnection(c); }
     }
 
+    /** Pages one month of payroll in employee id order; the page key is the employee id. */
+    public KeysetPager<PayrollRecord, Long> monthPager(YearMonth month) {
+        return new KeysetPager<>() {
+            @Override
+            public int count() throws SQLException {
+                return countByMonth(month);
+            }
+
+            @Override
+            public List<Long> boundaries(int pageSize) throws SQLException {
+                Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+                try (PreparedStatement s = c.prepareStatement(PAGE_BOUNDARIES_SQL)) {
+                    s.setString(1, month.toString());
+                    s.setInt(2, pageSize);
+                    List<Long> keys = new ArrayList<>();
+                    try (ResultSet rs = s.executeQuery()) {
+                        while (rs.next()) keys.add(rs.getLong("employee_id"));
+                    }
+                    return keys;
+                } finally { SQLiteConnectionManager.getInstance().returnConnection(c); }
+            }
+
+            @Override
+            public List<PayrollRecord> pageAfter(Long after, int limit) throws SQLException {
+                Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+                try (PreparedStatement s = c.prepareStatement(PAGE_SQL)) {
+                    s.setString(1, month.toString());
+                    s.setLong(2, after == null ? Long.MIN_VALUE : after);
+                    s.setInt(3, limit);
+                    try (ResultSet rs = s.executeQuery()) { return mapRows(rs); }
+                } finally { SQLiteConnectionManager.getInstance().returnConnection(c); }
+            }
+        };
+    }
+
     public PayrollRecord findByEmployeeAndMonth(long employeeId, YearMonth month) throws SQLException {
         Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement s = c.prepareStatement(FIND_BY_EMP_MONTH_SQL)) {
@@ -163,6 +478,51 @@ public class PayrollRepository {
         } finally { SQLiteConnectionManager.getInstance().returnConnection(c); }
     }
 
+    public int countByMonthRange(YearMonth from, YearMonth to) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(COUNT_RANGE_SQL)) {
+            s.setString(1, from.toString());
+            s.setString(2, to.toString());
+            try (ResultSet rs = s.executeQuery()) { return rs.next() ? rs.getInt("c") : 0; }
+        } finally { SQLiteConnectionManager.getInstance().returnConnection(c); }
+    }
+
+    public Map<YearMonth, Integer> countByMonths(YearMonth from, YearMonth to) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(COUNT_RANGE_BY_MONTH_SQL)) {
+            s.setString(1, from.toString());
+            s.setString(2, to.toString());
+            Map<YearMonth, Integer> counts = new HashMap<>();
+            try (ResultSet rs = s.executeQuery()) {
+                while (rs.next()) counts.put(YearMonth.parse(rs.getString("month")), rs.getInt("c"));
+            }
+            return counts;
+        } finally { SQLiteConnectionManager.getInstance().returnConnection(c); }
+    }
+
+    public void streamWithEmployeeNames(YearMonth from, YearMonth to, RowCallback<ExportRow> callback) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(EXPORT_RANGE_SQL)) {
+            s.setString(1, from.toString());
+            s.setString(2, to.toString());
+            s.setFetchSize(1_000);
+            try (ResultSet rs = s.executeQuery()) {
+                while (rs.next()) {
+                    ExportRow row = new ExportRow(
+                            rs.getString("employee_name"),
+                            rs.getString("month"),
+                            rs.getLong("base_salary_cents"),
+                            rs.getDouble("effective_work_days"),
+                            rs.getDouble("required_work_days"),
+                            rs.getLong("computed_salary_cents"),
+                            rs.getString("status"),
+                            rs.getString("processed_at"));
+                    if (!callback.onRow(row)) return;
+                }
+            }
+        } finally { SQLiteConnectionManager.getInstance().returnConnection(c); }
+    }
+
     public String recentProcessedAt() throws SQLException {
         Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
         try (PreparedStatement s = c.prepareStatement(RECENT_SQL); ResultSet rs = s.executeQuery()) {
@@ -177,10 +537,10 @@ public class PayrollRepository {
                     rs.getLong("id"),
                     rs.getLong("employee_id"),
                     YearMonth.parse(rs.getString("month")),
-                    rs.getDouble("base_salary"),
+                    rs.getLong("base_salary_cents"),
                     rs.getDouble("effective_work_days"),
                     rs.getDouble("required_work_days"),
-                    rs.getDouble("computed_salary"),
+                    rs.getLong("computed_salary_cents"),
                     PayrollRecord.Status.valueOf(rs.getString("status")),
                     asDateTime(rs.getString("processed_at")),
                     asDateTime(rs.getString("created_at")),
@@ -190,19 +550,19 @@ public class PayrollRepository {
         return out;
     }
 
-    private void bindSave(PreparedStatement s, PayrollRecord r) throws SQLException {
-        s.setLong(1, r.getEmployeeId());
-        s.setString(2, r.getMonth().toString());
-        s.setDouble(3, r.getBaseSalary());
-        s.setDouble(4, r.getEffectiveWorkDays());
-        s.setDouble(5, r.getRequiredWorkDays());
-        s.setDouble(6, r.getComputedSalary());
-        s.setString(7, r.getStatus().name());
-        s.setString(8, asText(r.getProcessedAt()));
-        s.setString(9, asText(r.getCreatedAt()));
-        s.setString(10, asText(r.getUpdatedAt()));
+    private static void bindSave(PreparedStatement s, PayrollRecord r) throws SQLException {
+        s.setLong(1, r.employeeId());
+        s.setString(2, r.month().toString());
+        s.setLong(3, r.baseSalaryCents());
+        s.setDouble(4, r.effectiveWorkDays());
+        s.setDouble(5, r.requiredWorkDays());
+        s.setLong(6, r.computedSalaryCents());
+        s.setString(7, r.status().name());
+        s.setString(8, asText(r.processedAt()));
+        s.setString(9, asText(r.createdAt()));
+        s.setString(10, asText(r.updatedAt()));
     }
 
-    private String asText(LocalDateTime dt) { return dt == null ? null : Timestamp.valueOf(dt).toString(); }
+    private static String asText(LocalDateTime dt) { return dt == null ? null : Timestamp.valueOf(dt).toString(); }
     private LocalDateTime asDateTime(String t) { return t == null ? null : Timestamp.valueOf(t).toLocalDateTime(); }
 }
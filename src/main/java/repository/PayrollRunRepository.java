@@ -0,0 +1,173 @@
+package repository;
+
+import database.SQLiteConnectionManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import model.PayrollRecord;
+
+public class PayrollRunRepository {
+    private static final String INSERT_SQL = "INSERT INTO payroll_run(month, required_work_days, status, cursor_employee_id, processed, generated, total, started_at, updated_at) VALUES(?, ?, ?, 0, 0, 0, ?, ?, ?)";
+    private static final String CHECKPOINT_SQL = "UPDATE payroll_run SET cursor_employee_id = ?, processed = processed + ?, generated = generated + ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_STATUS_SQL = "UPDATE payroll_run SET status = ?, total = ?, updated_at = ? WHERE id = ?";
+    private static final String FIND_BY_ID_SQL = "SELECT * FROM payroll_run WHERE id = ?";
+    private static final String FIND_RESUMABLE_MONTH_SQL = "SELECT * FROM payroll_run WHERE month = ? AND status <> 'COMPLETED' ORDER BY id DESC LIMIT 1";
+    private static final String FIND_RESUMABLE_SQL = "SELECT * FROM payroll_run WHERE status <> 'COMPLETED' ORDER BY month, id";
+
+    public enum Status {
+        RUNNING,
+        PAUSED,
+        COMPLETED
+    }
+
+    public record RunJournal(long id, YearMonth month, int requiredWorkDays, Status status, long cursorEmployeeId,
+            int processed, int generated, int total, LocalDateTime startedAt, LocalDateTime updatedAt) {
+    }
+
+    public void ensureSchema() throws SQLException {
+        synchronized (SQLiteConnectionManager.schemaLock()) {
+            String tableSql = """
+                    CREATE TABLE IF NOT EXISTS payroll_run (
+                      id INTEGER PRIMARY KEY AUTOINCREMENT,
+                      month TEXT NOT NULL,
+                      required_work_days INTEGER NOT NULL,
+                      status TEXT NOT NULL,
+                      cursor_employee_id INTEGER NOT NULL,
+                      processed INTEGER NOT NULL,
+                      generated INTEGER NOT NULL,
+                      total INTEGER NOT NULL,
+                      started_at TEXT NOT NULL,
+                      updated_at TEXT NOT NULL
+                    )
+                    """;
+            String idx = "CREATE INDEX IF NOT EXISTS idx_payroll_run_month_status ON payroll_run(month, status)";
+            Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+            try (PreparedStatement t = c.prepareStatement(tableSql)) {
+                t.executeUpdate();
+            }
+
+            try (PreparedStatement i = c.prepareStatement(idx)) {
+                i.executeUpdate();
+            } finally {
+                SQLiteConnectionManager.getInstance().returnConnection(c);
+            }
+        }
+    }
+
+    public RunJournal begin(YearMonth month, int requiredWorkDays, int total) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(INSERT_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            LocalDateTime now = LocalDateTime.now();
+            s.setString(1, month.toString());
+            s.setInt(2, requiredWorkDays);
+            s.setString(3, Status.RUNNING.name());
+            s.setInt(4, total);
+            s.setString(5, asText(now));
+            s.setString(6, asText(now));
+            s.executeUpdate();
+            try (ResultSet keys = s.getGeneratedKeys()) {
+                if (!keys.next()) throw new SQLException("Payroll run journal id was not generated.");
+                return findById(c, keys.getLong(1));
+            }
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public int commitChunk(long runId, List<PayrollRecord> records, long cursorEmployeeId) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        boolean auto = c.getAutoCommit();
+        try (PreparedStatement s = c.prepareStatement(CHECKPOINT_SQL)) {
+            c.setAutoCommit(false);
+            int inserted = PayrollRepository.insertBatch(c, records);
+            s.setLong(1, cursorEmployeeId);
+            s.setInt(2, records.size());
+            s.setInt(3, inserted);
+            s.setString(4, asText(LocalDateTime.now()));
+            s.setLong(5, runId);
+            if (s.executeUpdate() == 0) throw new SQLException("Payroll run journal " + runId + " no longer exists.");
+            c.commit();
+            return inserted;
+        } catch (SQLException ex) {
+            c.rollback();
+            throw ex;
+        } finally {
+            c.setAutoCommit(auto);
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public void updateStatus(long runId, Status status, int total) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(UPDATE_STATUS_SQL)) {
+            s.setString(1, status.name());
+            s.setInt(2, total);
+            s.setString(3, asText(LocalDateTime.now()));
+            s.setLong(4, runId);
+            s.executeUpdate();
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public RunJournal findResumable(YearMonth month) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(FIND_RESUMABLE_MONTH_SQL)) {
+            s.setString(1, month.toString());
+            try (ResultSet rs = s.executeQuery()) {
+                List<RunJournal> list = mapRows(rs);
+                return list.isEmpty() ? null : list.get(0);
+            }
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public List<RunJournal> findResumable() throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(FIND_RESUMABLE_SQL);
+                ResultSet rs = s.executeQuery()) {
+            return mapRows(rs);
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    private RunJournal findById(Connection c, long id) throws SQLException {
+        try (PreparedStatement s = c.prepareStatement(FIND_BY_ID_SQL)) {
+            s.setLong(1, id);
+            try (ResultSet rs = s.executeQuery()) {
+                List<RunJournal> list = mapRows(rs);
+                if (list.isEmpty()) throw new SQLException("Payroll run journal " + id + " not found.");
+                return list.get(0);
+            }
+        }
+    }
+
+    private List<RunJournal> mapRows(ResultSet rs) throws SQLException {
+        List<RunJournal> out = new ArrayList<>();
+        while (rs.next()) {
+            out.add(new RunJournal(
+                    rs.getLong("id"),
+                    YearMonth.parse(rs.getString("month")),
+                    rs.getInt("required_work_days"),
+                    Status.valueOf(rs.getString("status")),
+                    rs.getLong("cursor_employee_id"),
+                    rs.getInt("processed"),
+                    rs.getInt("generated"),
+                    rs.getInt("total"),
+                    asDateTime(rs.getString("started_at")),
+                    asDateTime(rs.getString("updated_at"))));
+        }
+        return out;
+    }
+
+    private String asText(LocalDateTime dt) { return dt == null ? null : Timestamp.valueOf(dt).toString(); }
+    private LocalDateTime asDateTime(String t) { return t == null ? null : Timestamp.valueOf(t).toLocalDateTime(); }
+}
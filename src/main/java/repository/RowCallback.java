@@ -0,0 +1,6 @@
+package repository;
+
+@FunctionalInterface
+public interface RowCallback<T> {
+    boolean onRow(T row);
+}
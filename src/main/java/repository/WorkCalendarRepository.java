@@ -0,0 +1,82 @@
+package repository;
+
+import database.SQLiteConnectionManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WorkCalendarRepository {
+    private static final String SELECT_ALL_SQL = "SELECT id, kind, value, name FROM work_calendar ORDER BY kind, value";
+    private static final String DELETE_ALL_SQL = "DELETE FROM work_calendar";
+    private static final String INSERT_SQL = "INSERT OR IGNORE INTO work_calendar(kind, value, name) VALUES(?, ?, ?)";
+
+    public enum Kind {
+        REST_DAY,
+        HOLIDAY,
+        ANNUAL_HOLIDAY
+    }
+
+    public record Definition(long id, Kind kind, String value, String name) {
+    }
+
+    public void ensureSchema() throws SQLException {
+        synchronized (SQLiteConnectionManager.schemaLock()) {
+            String tableSql = """
+                    CREATE TABLE IF NOT EXISTS work_calendar (
+                      id INTEGER PRIMARY KEY AUTOINCREMENT,
+                      kind TEXT NOT NULL,
+                      value TEXT NOT NULL,
+                      name TEXT,
+                      UNIQUE(kind, value)
+                    )
+                    """;
+            Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+            try (PreparedStatement t = c.prepareStatement(tableSql)) {
+                t.executeUpdate();
+            } finally {
+                SQLiteConnectionManager.getInstance().returnConnection(c);
+            }
+        }
+    }
+
+    public List<Definition> findAll() throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement s = c.prepareStatement(SELECT_ALL_SQL);
+                ResultSet rs = s.executeQuery()) {
+            List<Definition> out = new ArrayList<>();
+            while (rs.next()) {
+                out.add(new Definition(rs.getLong("id"), Kind.valueOf(rs.getString("kind")), rs.getString("value"), rs.getString("name")));
+            }
+            return out;
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+
+    public void replaceAll(List<Definition> definitions) throws SQLException {
+        Connection c = SQLiteConnectionManager.getInstance().borrowConnection();
+        boolean auto = c.getAutoCommit();
+        try (PreparedStatement d = c.prepareStatement(DELETE_ALL_SQL);
+                PreparedStatement s = c.prepareStatement(INSERT_SQL)) {
+            c.setAutoCommit(false);
+            d.executeUpdate();
+            for (Definition definition : definitions) {
+                s.setString(1, definition.kind().name());
+                s.setString(2, definition.value());
+                s.setString(3, definition.name());
+                s.addBatch();
+            }
+            s.executeBatch();
+            c.commit();
+        } catch (SQLException ex) {
+            c.rollback();
+            throw ex;
+        } finally {
+            c.setAutoCommit(auto);
+            SQLiteConnectionManager.getInstance().returnConnection(c);
+        }
+    }
+}
@@ -2,12 +2,31 @@ package service;
 
 import config.SessionManager;
 import database.SQLiteConnectionManager;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class ApplicationLifecycleService {
+    private static final Duration BACKUP_SHUTDOWN_GRACE = Duration.ofSeconds(10);
+    private static final AtomicBoolean SHUTDOWN_HOOK_INSTALLED = new AtomicBoolean();
+    private static final AtomicBoolean SHUT_DOWN = new AtomicBoolean();
+
     private ApplicationLifecycleService() {
     }
 
+    public static void installShutdownHook() {
+        if (SHUTDOWN_HOOK_INSTALLED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ApplicationLifecycleService::shutdown, "payroll-shutdown"));
+        }
+    }
+
     public static void shutdown() {
+        if (!SHUT_DOWN.compareAndSet(false, true)) {
+            return;
+        }
+        PayrollRecalculationService.getInstance().shutdown();
+        BackupSchedulerService.getInstance().shutdown(BACKUP_SHUTDOWN_GRACE);
+        TaskScheduler.getInstance().shutdown();
+        SettingsWriteQueue.getInstance().shutdown();
         SessionManager.clear();
         SQLiteConnectionManager.getInstance().close();
     }
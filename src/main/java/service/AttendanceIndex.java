@@ -0,0 +1,266 @@
+package service;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import model.AttendanceRecord;
+import repository.AttendanceRepository;
+
+public final class AttendanceIndex {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceIndex.class.getName());
+    private static final long EVEN_BITS = 0x5555555555555555L;
+    private static final long DAY_BITS = 0xFFFFFFFFL;
+
+    private static class Holder {
+        private static final AttendanceIndex INSTANCE = new AttendanceIndex();
+    }
+
+    private final AttendanceRepository repository = new AttendanceRepository();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<YearMonth, MonthSlice> months = new HashMap<>();
+    // Writes seen while a load streams; replayed onto the new slices before they are swapped in.
+    private final List<Consumer<Map<YearMonth, MonthSlice>>> replay = new ArrayList<>();
+    private long generation;
+    private volatile boolean loaded;
+    private volatile boolean loading;
+
+    private AttendanceIndex() {
+    }
+
+    public static AttendanceIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void load() throws SQLException {
+        long started = System.nanoTime();
+        long loadGeneration;
+        lock.writeLock().lock();
+        try {
+            // Set before the stream reads, so a write committed after its snapshot is queued and replayed.
+            loadGeneration = ++generation;
+            loaded = false;
+            loading = true;
+            months = new HashMap<>();
+            replay.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<YearMonth, MonthSlice> built = new HashMap<>();
+        boolean installed = false;
+        try {
+            repository.streamDays(day -> {
+                put(built, day.employeeId(), day.date(), day.status());
+                return true;
+            });
+            lock.writeLock().lock();
+            try {
+                if (generation == loadGeneration) {
+                    replay.forEach(write -> write.accept(built));
+                    replay.clear();
+                    months = built;
+                    loaded = true;
+                    installed = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            finishLoad(loadGeneration);
+        }
+        if (installed) {
+            LOGGER.info(() -> "Attendance index loaded " + built.size() + " month(s) in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms, about " + memoryBytes() / 1024 + " KiB.");
+        }
+    }
+
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            loaded = false;
+            loading = false;
+            months = new HashMap<>();
+            replay.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void record(long employeeId, LocalDate date, AttendanceRecord.Status status) {
+        apply(slices -> put(slices, employeeId, date, status));
+    }
+
+    public void remove(long employeeId, LocalDate date) {
+        apply(slices -> {
+            MonthSlice slice = slices.get(YearMonth.from(date));
+            if (slice != null) slice.clear(employeeId, date.getDayOfMonth() - 1);
+        });
+    }
+
+    public AttendanceRepository.MonthlyStatusTotals totals(long employeeId, YearMonth month) {
+        // Checked before the lock so callers fall back to SQL while a load is streaming.
+        if (!loaded) return null;
+        lock.readLock().lock();
+        try {
+            if (!loaded) return null;
+            MonthSlice slice = months.get(month);
+            int slot = slice == null ? -1 : slice.find(employeeId);
+            return slot < 0 ? new AttendanceRepository.MonthlyStatusTotals(0, 0, 0, 0)
+                    : summarize(slice.words[slot], slice.presence[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<Long, AttendanceRepository.MonthlyStatusTotals> totalsForMonth(YearMonth month) {
+        if (!loaded) return null;
+        lock.readLock().lock();
+        try {
+            if (!loaded) return null;
+            MonthSlice slice = months.get(month);
+            if (slice == null) return new HashMap<>();
+            Map<Long, AttendanceRepository.MonthlyStatusTotals> totals = new HashMap<>(slice.size * 2);
+            for (int slot = 0; slot < slice.keys.length; slot++) {
+                if (slice.keys[slot] != 0L && slice.presence[slot] != 0) {
+                    totals.put(slice.keys[slot], summarize(slice.words[slot], slice.presence[slot]));
+                }
+            }
+            return totals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0L;
+            for (MonthSlice slice : months.values()) {
+                bytes += slice.keys.length * (long) (Long.BYTES + Long.BYTES + Integer.BYTES);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Two bits per day: the low bit of each pair is ordinal & 1, the high bit ordinal >> 1.
+    static AttendanceRepository.MonthlyStatusTotals summarize(long word, int presence) {
+        long present = Long.expand(presence & DAY_BITS, EVEN_BITS);
+        long low = word & EVEN_BITS;
+        long high = (word >>> 1) & EVEN_BITS;
+        return new AttendanceRepository.MonthlyStatusTotals(
+                Long.bitCount(present & ~low & ~high),
+                Long.bitCount(present & low & ~high),
+                Long.bitCount(present & ~low & high),
+                Long.bitCount(present & low & high));
+    }
+
+    private void apply(Consumer<Map<YearMonth, MonthSlice>> write) {
+        if (!loaded && !loading) return;
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                write.accept(months);
+            } else if (loading) {
+                replay.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void finishLoad(long loadGeneration) {
+        lock.writeLock().lock();
+        try {
+            if (generation == loadGeneration) {
+                loading = false;
+                replay.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void put(Map<YearMonth, MonthSlice> slices, long employeeId, LocalDate date, AttendanceRecord.Status status) {
+        slices.computeIfAbsent(YearMonth.from(date), month -> new MonthSlice())
+                .set(employeeId, date.getDayOfMonth() - 1, status.ordinal());
+    }
+
+    private static final class MonthSlice {
+        private long[] keys = new long[16];
+        private long[] words = new long[16];
+        private int[] presence = new int[16];
+        private int size;
+
+        private int find(long employeeId) {
+            int mask = keys.length - 1;
+            for (int slot = hash(employeeId) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == employeeId) return slot;
+                if (keys[slot] == 0L) return -1;
+            }
+        }
+
+        private void set(long employeeId, int day, int code) {
+            int slot = slotFor(employeeId);
+            int shift = day * 2;
+            words[slot] = (words[slot] & ~(3L << shift)) | ((long) code << shift);
+            presence[slot] |= 1 << day;
+        }
+
+        private void clear(long employeeId, int day) {
+            int slot = find(employeeId);
+            if (slot < 0) return;
+            words[slot] &= ~(3L << (day * 2));
+            presence[slot] &= ~(1 << day);
+        }
+
+        private int slotFor(long employeeId) {
+            if ((size + 1) * 4 > keys.length * 3) grow();
+            int mask = keys.length - 1;
+            int slot = hash(employeeId) & mask;
+            while (keys[slot] != 0L && keys[slot] != employeeId) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0L) {
+                keys[slot] = employeeId;
+                size++;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldWords = words;
+            int[] oldPresence = presence;
+            keys = new long[oldKeys.length * 2];
+            words = new long[oldKeys.length * 2];
+            presence = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0L) continue;
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != 0L) slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                words[slot] = oldWords[i];
+                presence[slot] = oldPresence[i];
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
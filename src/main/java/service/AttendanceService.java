@@ -4,14 +4,19 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import model.AttendanceRecord;
 import repository.AttendanceRepository;
 import repository.EmployeeRepository;
+import repository.PayrollDirtyRepository;
 
 public class AttendanceService {
     private AttendanceRepository attendanceRepository;
     private EmployeeRepository employeeRepository;
+    private PayrollDirtyRepository dirtyRepository;
     private final WorkDayCalculator calculator = new WorkDayCalculator();
 
     private AttendanceRepository attendanceRepository() {
@@ -28,6 +33,13 @@ public class AttendanceService {
         return employeeRepository;
     }
 
+    private PayrollDirtyRepository dirtyRepository() {
+        if (dirtyRepository == null) {
+            dirtyRepository = new PayrollDirtyRepository();
+        }
+        return dirtyRepository;
+    }
+
     public void initialize() {
         SQLException last = null;
         for (int attempt = 1; attempt <= 3; attempt++) {
@@ -58,14 +70,17 @@ public class AttendanceService {
             LocalDateTime now = LocalDateTime.now();
             AttendanceRecord record = new AttendanceRecord(normalizedEmployeeId, normalizedDate, normalizedStatus)
                     .withTimestamps(now, now);
-            return attendanceRepository().save(record);
+            AttendanceRecord saved = attendanceRepository().save(record);
+            AttendanceIndex.getInstance().record(normalizedEmployeeId, normalizedDate, normalizedStatus);
+            dirtyRepository().mark(List.of(PayrollDirtyRepository.DirtyKey.of(normalizedEmployeeId, normalizedDate)));
+            return saved;
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to save attendance record.");
         }
     }
 
     public AttendanceRecord update(AttendanceRecord existing, Long employeeId, LocalDate date, AttendanceRecord.Status status) {
-        if (existing == null || existing.getId() <= 0) {
+        if (existing == null || existing.id() <= 0) {
             throw new IllegalArgumentException("Select a valid attendance record first.");
         }
 
@@ -74,21 +89,26 @@ public class AttendanceService {
         AttendanceRecord.Status normalizedStatus = requiredStatus(status);
 
         try {
-            if (attendanceRepository().existsDuplicate(normalizedEmployeeId, normalizedDate, existing.getId())) {
+            if (attendanceRepository().existsDuplicate(normalizedEmployeeId, normalizedDate, existing.id())) {
                 throw new IllegalArgumentException("Attendance already exists for this employee and date.");
             }
 
             AttendanceRecord updated = new AttendanceRecord(
-                    existing.getId(),
+                    existing.id(),
                     normalizedEmployeeId,
                     normalizedDate,
                     normalizedStatus,
-                    existing.getCreatedAt(),
+                    existing.createdAt(),
                     LocalDateTime.now());
             boolean success = attendanceRepository().update(updated);
             if (!success) {
                 throw new IllegalStateException("Attendance record was not updated.");
             }
+            AttendanceIndex.getInstance().remove(existing.employeeId(), existing.date());
+            AttendanceIndex.getInstance().record(normalizedEmployeeId, normalizedDate, normalizedStatus);
+            dirtyRepository().mark(List.of(
+                    PayrollDirtyRepository.DirtyKey.of(existing.employeeId(), existing.date()),
+                    PayrollDirtyRepository.DirtyKey.of(normalizedEmployeeId, normalizedDate)));
             return updated;
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to update attendance record.");
@@ -97,7 +117,9 @@ public class AttendanceService {
 
     public void delete(long id) {
         try {
+            List<AttendanceRecord> removed = attendanceRepository().findByIds(List.of(id));
             attendanceRepository().deleteById(id);
+            forgetRemoved(removed);
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to delete attendance record.");
         }
@@ -105,12 +127,24 @@ public class AttendanceService {
 
     public int deleteBatch(List<Long> ids) {
         try {
-            return attendanceRepository().deleteBatch(ids);
+            List<AttendanceRecord> removed = attendanceRepository().findByIds(ids);
+            int deleted = attendanceRepository().deleteBatch(ids);
+            forgetRemoved(removed);
+            return deleted;
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to delete selected attendance records.");
         }
     }
 
+    private void forgetRemoved(List<AttendanceRecord> removed) throws SQLException {
+        Set<PayrollDirtyRepository.DirtyKey> affected = new HashSet<>();
+        for (AttendanceRecord record : removed) {
+            AttendanceIndex.getInstance().remove(record.employeeId(), record.date());
+            affected.add(PayrollDirtyRepository.DirtyKey.of(record.employeeId(), record.date()));
+        }
+        dirtyRepository().mark(affected);
+    }
+
     public List<AttendanceRecord> findByMonth(YearMonth month) {
         try {
             return attendanceRepository().findByMonth(month);
@@ -119,6 +153,11 @@ public class AttendanceService {
         }
     }
 
+    public PageQuery<AttendanceRecord, AttendanceRepository.PageKey> pagesByMonth(Long employeeId, YearMonth month) {
+        return new PageQuery<>(attendanceRepository().monthPager(month, employeeId),
+                Arrays.asList("attendance", month, employeeId), "Unable to load attendance records.");
+    }
+
     public List<AttendanceRecord> findByEmployee(long employeeId) {
         try {
             return attendanceRepository().findByEmployee(employeeId);
@@ -137,7 +176,10 @@ public class AttendanceService {
 
     public WorkDayCalculator.WorkDaySummary computeMonthlySummary(long employeeId, YearMonth month, int requiredWorkDays) {
         try {
-            AttendanceRepository.MonthlyStatusTotals totals = attendanceRepository().aggregateByEmployeeAndMonth(employeeId, month);
+            AttendanceRepository.MonthlyStatusTotals totals = AttendanceIndex.getInstance().totals(employeeId, month);
+            if (totals == null) {
+                totals = attendanceRepository().aggregateByEmployeeAndMonth(employeeId, month);
+            }
             return calculator.calculate(totals, requiredWorkDays);
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to compute monthly work-day summary.");
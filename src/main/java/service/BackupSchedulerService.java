@@ -0,0 +1,291 @@
+package service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import util.IoThrottle;
+
+public final class BackupSchedulerService {
+    private static final Logger LOGGER = Logger.getLogger(BackupSchedulerService.class.getName());
+    private static final String PREFIX = "payroll-";
+    private static final String SUFFIX = ".db.gz";
+    private static final String SIDECAR_SUFFIX = ".sha256";
+    private static final int BLOCK_BYTES = 1024 * 1024;
+    private static final Duration MIN_INITIAL_DELAY = Duration.ofMinutes(1);
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public record Schedule(Duration interval, int generations, long maxBytesPerSecond) {
+        public Schedule {
+            if (interval == null || interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("Backup interval must be positive.");
+            }
+            if (generations < 1) {
+                throw new IllegalArgumentException("At least one backup generation must be kept.");
+            }
+        }
+    }
+
+    private static class Holder {
+        private static final BackupSchedulerService INSTANCE = new BackupSchedulerService();
+    }
+
+    private final DatabaseBackupService backupService = new DatabaseBackupService();
+    private final Object runLock = new Object();
+    private ScheduledExecutorService executor;
+    private Path directory;
+    private Schedule schedule;
+    private volatile CancellationToken activeRun;
+
+    private BackupSchedulerService() {
+    }
+
+    public static BackupSchedulerService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public synchronized void start(Path backupDirectory, Schedule backupSchedule) {
+        if (executor != null) {
+            return;
+        }
+        this.directory = backupDirectory;
+        this.schedule = backupSchedule;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "backup-scheduler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        long initialDelay = initialDelay().toMillis();
+        executor.scheduleWithFixedDelay(this::runScheduled, initialDelay, schedule.interval().toMillis(), TimeUnit.MILLISECONDS);
+        LOGGER.info(() -> "Backup scheduler started. Next backup in " + initialDelay / 1000 + " s, keeping "
+                + schedule.generations() + " generation(s) in " + directory);
+    }
+
+    public Path runNow() {
+        Path backupDirectory;
+        Schedule backupSchedule;
+        synchronized (this) {
+            if (directory == null) throw new IllegalStateException("Backup scheduler is not started.");
+            backupDirectory = directory;
+            backupSchedule = schedule;
+        }
+        synchronized (runLock) {
+            CancellationToken token = new CancellationToken();
+            activeRun = token;
+            try {
+                Path created = createBackup(backupDirectory, backupSchedule, token);
+                rotate(backupDirectory, backupSchedule.generations());
+                return created;
+            } finally {
+                activeRun = null;
+            }
+        }
+    }
+
+    public void shutdown(Duration grace) {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+        }
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(grace.toMillis(), TimeUnit.MILLISECONDS)) {
+                CancellationToken token = activeRun;
+                if (token != null) {
+                    LOGGER.info("Abandoning in-progress backup for shutdown.");
+                    token.cancel();
+                }
+                running.awaitTermination(grace.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runScheduled() {
+        try {
+            Path created = runNow();
+            LOGGER.info(() -> "Scheduled backup written to " + created);
+        } catch (CancellationException ex) {
+            LOGGER.info("Scheduled backup abandoned.");
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Scheduled backup failed.", ex);
+        }
+    }
+
+    private Path createBackup(Path backupDirectory, Schedule backupSchedule, CancellationToken token) {
+        IoThrottle throttle = new IoThrottle(backupSchedule.maxBytesPerSecond());
+        String name = PREFIX + LocalDateTime.now().format(FILE_STAMP);
+        Path snapshot = backupDirectory.resolve("." + name + ".db.tmp");
+        Path compressedTemp = backupDirectory.resolve("." + name + SUFFIX + ".tmp");
+        Path target = backupDirectory.resolve(name + SUFFIX);
+        try {
+            Files.createDirectories(backupDirectory);
+            // Only compression is throttled; a slow snapshot would just hold its read transaction longer.
+            backupService.vacuumInto(snapshot, token);
+            token.throwIfCancelled();
+
+            String digest = compress(snapshot, compressedTemp, throttle, token);
+            Files.move(compressedTemp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.writeString(target.resolveSibling(target.getFileName() + SIDECAR_SUFFIX),
+                    digest + "  " + target.getFileName() + System.lineSeparator(), StandardCharsets.UTF_8);
+            return target;
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalStateException("Unable to write scheduled backup.", ex);
+        } finally {
+            deleteQuietly(snapshot);
+            deleteQuietly(compressedTemp);
+        }
+    }
+
+    private String compress(Path source, Path target, IoThrottle throttle, CancellationToken token) throws IOException {
+        MessageDigest digest = sha256();
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            Deque<ForkJoinTask<byte[]>> inFlight = new ArrayDeque<>();
+            boolean endOfInput = false;
+            while (!endOfInput || !inFlight.isEmpty()) {
+                while (!endOfInput && inFlight.size() < parallelism * 2) {
+                    byte[] block = readBlock(in, throttle);
+                    if (block == null) {
+                        endOfInput = true;
+                    } else {
+                        inFlight.add(pool.submit(() -> gzipMember(block)));
+                    }
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+                token.throwIfCancelled();
+                TaskScheduler.getInstance().yieldToInteractive();
+                byte[] member = inFlight.poll().join();
+                throttle.acquire(member.length);
+                digest.update(member);
+                ByteBuffer buffer = ByteBuffer.wrap(member);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        } finally {
+            pool.shutdownNow();
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private byte[] readBlock(FileChannel in, IoThrottle throttle) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_BYTES);
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                break;
+            }
+        }
+        if (buffer.position() == 0) {
+            return null;
+        }
+        throttle.acquire(buffer.position());
+        byte[] block = new byte[buffer.position()];
+        buffer.flip().get(block);
+        return block;
+    }
+
+    private byte[] gzipMember(byte[] block) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 64 * 1024)) {
+            gzip.write(block);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void rotate(Path backupDirectory, int generations) {
+        List<Path> backups = listBackups(backupDirectory);
+        for (int i = 0; i < backups.size() - generations; i++) {
+            Path expired = backups.get(i);
+            deleteQuietly(expired);
+            deleteQuietly(expired.resolveSibling(expired.getFileName() + SIDECAR_SUFFIX));
+            LOGGER.fine(() -> "Rotated out backup " + expired);
+        }
+    }
+
+    private List<Path> listBackups(Path backupDirectory) {
+        if (!Files.isDirectory(backupDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(backupDirectory)) {
+            return files.filter(p -> {
+                String fileName = p.getFileName().toString();
+                return fileName.startsWith(PREFIX) && fileName.endsWith(SUFFIX);
+            }).sorted().toList();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to list scheduled backups.", ex);
+        }
+    }
+
+    private Duration initialDelay() {
+        List<Path> backups = listBackups(directory);
+        if (backups.isEmpty()) {
+            return MIN_INITIAL_DELAY;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(backups.get(backups.size() - 1));
+            Duration age = Duration.ofMillis(System.currentTimeMillis() - modified.toMillis());
+            Duration remaining = schedule.interval().minus(age);
+            return remaining.compareTo(MIN_INITIAL_DELAY) < 0 ? MIN_INITIAL_DELAY : remaining;
+        } catch (IOException ex) {
+            return MIN_INITIAL_DELAY;
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
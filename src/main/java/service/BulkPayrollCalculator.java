@@ -0,0 +1,67 @@
+package service;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import util.Money;
+
+public class BulkPayrollCalculator {
+    private static final Logger LOGGER = Logger.getLogger(BulkPayrollCalculator.class.getName());
+    private static final String VECTOR_KERNEL = "service.VectorPayrollKernel";
+
+    private static class KernelHolder {
+        private static final PayrollKernel VECTOR = loadVectorKernel();
+    }
+
+    private final PayrollCalculator scalar;
+    private final Money.Rounding rounding;
+    private final PayrollKernel kernel;
+
+    public BulkPayrollCalculator() {
+        this(Money.Rounding.HALF_UP, true);
+    }
+
+    public BulkPayrollCalculator(Money.Rounding rounding, boolean allowVector) {
+        this.rounding = rounding;
+        this.scalar = new PayrollCalculator(rounding);
+        this.kernel = allowVector && rounding == Money.Rounding.HALF_UP ? KernelHolder.VECTOR : null;
+    }
+
+    public static BulkPayrollCalculator scalar() {
+        return new BulkPayrollCalculator(Money.Rounding.HALF_UP, false);
+    }
+
+    public boolean isVectorized() {
+        return kernel != null;
+    }
+
+    public Money.Rounding rounding() {
+        return rounding;
+    }
+
+    public void computeCents(long[] salaryCents, int[] effectiveHalfDays, int[] requiredHalfDays, long[] out) {
+        int length = salaryCents.length;
+        if (effectiveHalfDays.length != length || requiredHalfDays.length != length || out.length < length) {
+            throw new IllegalArgumentException("Payroll input arrays must have the same length.");
+        }
+        if (kernel != null) {
+            kernel.computeHalfUp(salaryCents, effectiveHalfDays, requiredHalfDays, out, length, scalar);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            out[i] = scalar.computeCents(salaryCents[i], effectiveHalfDays[i], requiredHalfDays[i]);
+        }
+    }
+
+    private static PayrollKernel loadVectorKernel() {
+        try {
+            PayrollKernel loaded = (PayrollKernel) Class.forName(VECTOR_KERNEL).getDeclaredMethod("create").invoke(null);
+            LOGGER.fine(loaded == null
+                    ? "No SIMD registers wide enough for payroll lanes; using scalar computation."
+                    : "Vectorized payroll kernel enabled.");
+            return loaded;
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            LOGGER.log(Level.FINE, "Vectorized payroll kernel unavailable; using scalar computation.", ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package service;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class CancellationToken {
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+        listeners.forEach(Runnable::run);
+    }
+
+    /** Runs {@code action} when the token is cancelled, or at once if it already is. */
+    public void onCancel(Runnable action) {
+        listeners.add(action);
+        if (cancelled) {
+            action.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Operation cancelled.");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class DataReloadBus {
+    private static final Logger LOGGER = Logger.getLogger(DataReloadBus.class.getName());
+
+    private static class Holder {
+        private static final DataReloadBus INSTANCE = new DataReloadBus();
+    }
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private DataReloadBus() {
+    }
+
+    public static DataReloadBus getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    public void publishReloaded() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Data reload listener failed.", ex);
+            }
+        }
+    }
+}
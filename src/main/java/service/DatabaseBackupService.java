@@ -2,19 +2,146 @@ package service;
 
 import config.DatabaseConfig;
 import database.SQLiteConnectionManager;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import util.AppConstants;
 
 public class DatabaseBackupService {
+    private static final int CHUNK_BYTES = 256 * 1024;
+    private static final int CHUNKS_PER_MAP = 256;
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String MANIFEST_VERSION = "version=1";
+    private static final Duration RESTORE_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final DateTimeFormatter MANIFEST_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private static final Object DIFFERENTIAL_LOCK = new Object();
+
+    private final DatabaseIntegrityService integrityService = new DatabaseIntegrityService();
+
+    public record DifferentialBackupResult(Path manifest, int totalChunks, int storedChunks, long storedBytes) {
+    }
+
+    private record Manifest(long size, int chunkBytes, List<String> hashes) {
+    }
+
     public void backupTo(Path destination) {
+        backupTo(destination, ProgressListener.NONE);
+    }
+
+    public void backupTo(Path destination, ProgressListener progress) {
         if (destination == null) throw new IllegalArgumentException("Backup destination is required.");
         Path source = DatabaseConfig.databasePath();
         if (!Files.exists(source)) throw new IllegalStateException("Database file does not exist.");
-        copyAtomic(source, destination);
+        Path temp = destination.toAbsolutePath().resolveSibling(destination.getFileName() + ".tmp");
+        try {
+            if (temp.getParent() != null) Files.createDirectories(temp.getParent());
+            Files.deleteIfExists(temp);
+            snapshotTo(temp, progress);
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Backup failed while writing the snapshot.", ex);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Stores only the chunks no earlier manifest has, then keeps the newest
+     * {@link AppConstants#BACKUP_GENERATIONS} manifests and deletes chunks none of them reference.
+     * Each run still snapshots the whole database first, because the live file is not consistent while
+     * the WAL holds committed pages, so the read I/O matches a full backup; only the writes are differential.
+     */
+    public DifferentialBackupResult differentialBackupTo(Path backupDirectory, ProgressListener progress) {
+        if (backupDirectory == null) throw new IllegalArgumentException("Backup directory is required.");
+        Path source = DatabaseConfig.databasePath();
+        if (!Files.exists(source)) throw new IllegalStateException("Database file does not exist.");
+        Path chunkDir = backupDirectory.resolve("chunks");
+        Path manifestDir = backupDirectory.resolve("manifests");
+        Path snapshot = backupDirectory.resolve(".snapshot.tmp");
+        synchronized (DIFFERENTIAL_LOCK) {
+            try {
+                Files.createDirectories(chunkDir);
+                Files.createDirectories(manifestDir);
+                Files.deleteIfExists(snapshot);
+                snapshotTo(snapshot, ProgressListener.NONE);
+                DifferentialBackupResult result = storeChunks(snapshot, chunkDir, manifestDir, progress);
+                rotateManifests(chunkDir, manifestDir, AppConstants.BACKUP_GENERATIONS);
+                return result;
+            } catch (IOException | UncheckedIOException ex) {
+                throw new IllegalStateException("Differential backup failed.", ex);
+            } finally {
+                deleteQuietly(snapshot);
+            }
+        }
+    }
+
+    public List<Path> listDifferentialBackups(Path backupDirectory) {
+        Path manifestDir = backupDirectory.resolve("manifests");
+        if (!Files.isDirectory(manifestDir)) return List.of();
+        try (Stream<Path> files = Files.list(manifestDir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(MANIFEST_SUFFIX)).sorted().toList();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to list differential backups.", ex);
+        }
+    }
+
+    public void reconstruct(Path manifestFile, Path destination) {
+        Manifest manifest = readManifest(manifestFile);
+        Path chunkDir = manifestFile.toAbsolutePath().getParent().resolveSibling("chunks");
+        try {
+            if (destination.getParent() != null) Files.createDirectories(destination.getParent());
+            try (FileChannel out = FileChannel.open(destination,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                for (String hash : manifest.hashes()) {
+                    byte[] chunk = Files.readAllBytes(chunkPath(chunkDir, hash));
+                    if (!hash.equals(sha256(ByteBuffer.wrap(chunk)))) {
+                        throw new IllegalStateException("Backup chunk " + hash + " is corrupted.");
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                }
+                if (out.size() != manifest.size()) {
+                    throw new IllegalStateException("Reconstructed backup size does not match its manifest.");
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to reconstruct backup from manifest.", ex);
+        }
     }
 
     public void restoreFrom(Path sourceBackup) {
@@ -23,13 +150,255 @@ public class DatabaseBackupService {
         }
         Path target = DatabaseConfig.databasePath();
         Path temp = target.resolveSibling(target.getFileName() + ".restore.tmp");
+        // Write queued settings now so they cannot land on top of the restored database later.
+        SettingsWriteQueue.getInstance().flush();
+        try {
+            if (isManifest(sourceBackup)) {
+                reconstruct(sourceBackup, temp);
+            } else if (isCompressed(sourceBackup)) {
+                decompress(sourceBackup, temp);
+            } else {
+                copyAtomic(sourceBackup, temp);
+            }
+            DatabaseIntegrityService.ValidationReport report = integrityService.validate(temp);
+            if (!report.valid()) {
+                throw new IllegalStateException("Backup rejected. " + report.summary());
+            }
+            SQLiteConnectionManager.getInstance().swapDatabase(temp, RESTORE_DRAIN_TIMEOUT);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Restore failed during database swap.", ex);
+        } finally {
+            deleteQuietly(temp);
+            deleteQuietly(temp.resolveSibling(temp.getFileName() + "-wal"));
+            deleteQuietly(temp.resolveSibling(temp.getFileName() + "-shm"));
+        }
+        DataReloadBus.getInstance().publishReloaded();
+    }
+
+    private static boolean isCompressed(Path path) {
+        return path.getFileName().toString().endsWith(".gz");
+    }
+
+    private void decompress(Path source, Path destination) {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(source), 64 * 1024)) {
+            Files.copy(in, destination, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to decompress backup.", ex);
+        }
+    }
+
+    private void snapshotTo(Path destination, ProgressListener progress) {
+        // VACUUM INTO reads in one transaction, so writes from other connections cannot restart the copy
+        // the way they restart the page-stepped online backup; it reports no progress until it is done.
+        progress.onProgress(0, 0);
+        vacuumInto(destination, new CancellationToken());
+        progress.onProgress(1, 1);
+    }
 
-        SQLiteConnectionManager.getInstance().close();
-        copyAtomic(sourceBackup, temp);
+    /**
+     * Writes a consistent copy of the live database with {@code VACUUM INTO}. The copy reads in one
+     * transaction, so concurrent writes never restart it, and cancelling {@code token} interrupts it.
+     */
+    public void vacuumInto(Path destination, CancellationToken token) {
+        SettingsWriteQueue.getInstance().flush();
+        SQLiteConnectionManager manager = SQLiteConnectionManager.getInstance();
+        Connection connection = null;
         try {
+            Files.deleteIfExists(destination);
+            connection = manager.openDedicatedConnection();
+            try (PreparedStatement statement = connection.prepareStatement("VACUUM INTO ?")) {
+                statement.setString(1, destination.toString());
+                AtomicBoolean executing = new AtomicBoolean(true);
+                token.onCancel(() -> {
+                    synchronized (executing) {
+                        if (!executing.get()) {
+                            return;
+                        }
+                        try {
+                            statement.cancel();
+                        } catch (SQLException ignored) {
+                        }
+                    }
+                });
+                try {
+                    token.throwIfCancelled();
+                    statement.execute();
+                } finally {
+                    synchronized (executing) {
+                        executing.set(false);
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            token.throwIfCancelled();
+            throw new IllegalStateException("Backup failed while reading the database.", ex);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Backup failed while writing the snapshot.", ex);
+        } finally {
+            manager.closeDedicatedConnection(connection);
+        }
+    }
+
+    public static boolean isManifest(Path path) {
+        return path.getFileName().toString().endsWith(MANIFEST_SUFFIX);
+    }
+
+    private DifferentialBackupResult storeChunks(Path snapshot, Path chunkDir, Path manifestDir,
+            ProgressListener progress) throws IOException {
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunkCount = (int) ((size + CHUNK_BYTES - 1) / CHUNK_BYTES);
+            String[] hashes = new String[chunkCount];
+            Set<String> known = knownChunks(chunkDir);
+            AtomicInteger hashed = new AtomicInteger();
+            AtomicInteger stored = new AtomicInteger();
+            AtomicLong storedBytes = new AtomicLong();
+
+            List<ForkJoinTask<?>> windows = new ArrayList<>();
+            for (int first = 0; first < chunkCount; first += CHUNKS_PER_MAP) {
+                int from = first;
+                int to = Math.min(chunkCount, first + CHUNKS_PER_MAP);
+                windows.add(pool.submit(() -> {
+                    long start = (long) from * CHUNK_BYTES;
+                    long end = Math.min(size, (long) to * CHUNK_BYTES);
+                    MappedByteBuffer window = map(channel, start, end);
+                    for (int i = from; i < to; i++) {
+                        TaskScheduler.getInstance().yieldToInteractive();
+                        int offset = (int) ((long) (i - from) * CHUNK_BYTES);
+                        int length = (int) Math.min(CHUNK_BYTES, end - start - offset);
+                        ByteBuffer chunk = window.slice(offset, length);
+                        String hash = sha256(chunk.duplicate());
+                        hashes[i] = hash;
+                        if (known.add(hash)) {
+                            writeChunk(chunkPath(chunkDir, hash), chunk);
+                            stored.incrementAndGet();
+                            storedBytes.addAndGet(length);
+                        }
+                        progress.onProgress(hashed.incrementAndGet(), chunkCount);
+                    }
+                }));
+            }
+            windows.forEach(ForkJoinTask::join);
+
+            Path manifest = manifestDir.resolve(LocalDateTime.now().format(MANIFEST_NAME) + MANIFEST_SUFFIX);
+            writeManifest(manifest, new Manifest(size, CHUNK_BYTES, List.of(hashes)));
+            return new DifferentialBackupResult(manifest, chunkCount, stored.get(), storedBytes.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Deletes all but the newest {@code generations} manifests, then every chunk no remaining manifest lists. */
+    private void rotateManifests(Path chunkDir, Path manifestDir, int generations) throws IOException {
+        List<Path> manifests = listDifferentialBackups(manifestDir.getParent());
+        for (Path expired : manifests.subList(0, Math.max(0, manifests.size() - generations))) {
+            Files.deleteIfExists(expired);
+        }
+        Set<String> referenced = new HashSet<>();
+        try {
+            for (Path manifest : listDifferentialBackups(manifestDir.getParent())) {
+                referenced.addAll(readManifest(manifest).hashes());
+            }
+        } catch (IllegalStateException ex) {
+            // Sweeping without knowing every live manifest's chunks could break it; leave the store as is.
+            return;
+        }
+        try (Stream<Path> files = Files.walk(chunkDir, 2)) {
+            for (Path chunk : files.filter(Files::isRegularFile).toList()) {
+                String name = chunk.getFileName().toString();
+                if (!name.endsWith(".tmp") && !referenced.contains(name)) {
+                    Files.deleteIfExists(chunk);
+                }
+            }
+        }
+    }
+
+    private Set<String> knownChunks(Path chunkDir) throws IOException {
+        Set<String> known = ConcurrentHashMap.newKeySet();
+        try (Stream<Path> files = Files.walk(chunkDir, 2)) {
+            files.filter(Files::isRegularFile)
+                    .map(p -> p.getFileName().toString())
+                    .filter(name -> !name.endsWith(".tmp"))
+                    .forEach(known::add);
+        }
+        return known;
+    }
+
+    private void writeChunk(Path target, ByteBuffer chunk) {
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+            }
             Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException ex) {
-            throw new IllegalStateException("Restore failed during atomic replace.", ex);
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeManifest(Path target, Manifest manifest) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(MANIFEST_VERSION);
+            writer.newLine();
+            writer.write("size=" + manifest.size());
+            writer.newLine();
+            writer.write("chunk_bytes=" + manifest.chunkBytes());
+            writer.newLine();
+            for (String hash : manifest.hashes()) {
+                writer.write(hash);
+                writer.newLine();
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Manifest readManifest(Path manifestFile) {
+        try {
+            List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+            if (lines.size() < 3 || !MANIFEST_VERSION.equals(lines.get(0))) {
+                throw new IllegalStateException("Unsupported backup manifest format.");
+            }
+            long size = Long.parseLong(lines.get(1).substring("size=".length()));
+            int chunkBytes = Integer.parseInt(lines.get(2).substring("chunk_bytes=".length()));
+            List<String> hashes = lines.subList(3, lines.size()).stream().filter(line -> !line.isBlank()).toList();
+            return new Manifest(size, chunkBytes, hashes);
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException("Unable to read backup manifest.", ex);
+        }
+    }
+
+    private Path chunkPath(Path chunkDir, String hash) {
+        return chunkDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long start, long end) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String sha256(ByteBuffer data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
         }
     }
 
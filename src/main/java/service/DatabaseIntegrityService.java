@@ -0,0 +1,120 @@
+package service;
+
+import database.SQLiteConnectionManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.sqlite.SQLiteConfig;
+import util.AppConstants;
+
+public class DatabaseIntegrityService {
+    private static final Map<String, List<String>> REQUIRED_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        REQUIRED_COLUMNS.put("users", List.of("id", "full_name", "username", "password_hash"));
+        REQUIRED_COLUMNS.put("settings", List.of("id", "company_name", "required_work_days", "theme"));
+        REQUIRED_COLUMNS.put("employees", List.of("id", "full_name", "position", "monthly_salary"));
+        REQUIRED_COLUMNS.put("attendance", List.of("id", "employee_id", "date", "status"));
+        REQUIRED_COLUMNS.put("payroll", List.of("id", "employee_id", "month", "status"));
+    }
+
+    public record ValidationReport(int schemaVersion, List<String> problems) {
+        public boolean valid() {
+            return problems.isEmpty();
+        }
+
+        public String summary() {
+            return valid() ? "Database is valid." : String.join(" ", problems);
+        }
+    }
+
+    public ValidationReport validate(Path candidate) {
+        if (candidate == null || !Files.isRegularFile(candidate)) {
+            throw new IllegalArgumentException("Database file to validate is required.");
+        }
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        List<String> problems = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + candidate, config.toProperties())) {
+            quickCheck(connection, problems);
+            int version = userVersion(connection);
+            if (version > AppConstants.SCHEMA_VERSION) {
+                problems.add("Backup schema version " + version + " is newer than supported version "
+                        + AppConstants.SCHEMA_VERSION + ".");
+            }
+            checkTables(connection, problems);
+            return new ValidationReport(version, List.copyOf(problems));
+        } catch (SQLException ex) {
+            return new ValidationReport(-1, List.of("File is not a readable SQLite database."));
+        }
+    }
+
+    /**
+     * Raises the live database's {@code user_version} to {@link AppConstants#SCHEMA_VERSION}. Called once
+     * every service has ensured its schema; a newer version is left alone.
+     */
+    public void markSchemaCurrent() throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try {
+            if (userVersion(connection) < AppConstants.SCHEMA_VERSION) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("PRAGMA user_version = " + AppConstants.SCHEMA_VERSION);
+                }
+            }
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    private void quickCheck(Connection connection, List<String> problems) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("PRAGMA quick_check");
+                ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                String result = rs.getString(1);
+                if (!"ok".equalsIgnoreCase(result)) {
+                    problems.add("Integrity check failed: " + result + ".");
+                    return;
+                }
+            }
+        }
+    }
+
+    private int userVersion(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("PRAGMA user_version");
+                ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void checkTables(Connection connection, List<String> problems) throws SQLException {
+        for (Map.Entry<String, List<String>> table : REQUIRED_COLUMNS.entrySet()) {
+            Set<String> columns = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement("PRAGMA table_info(" + table.getKey() + ")");
+                    ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString("name").toLowerCase());
+                }
+            }
+            if (columns.isEmpty()) {
+                problems.add("Missing table " + table.getKey() + ".");
+                continue;
+            }
+            for (String column : table.getValue()) {
+                if (!columns.contains(column)) {
+                    problems.add("Table " + table.getKey() + " is missing column " + column + ".");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Logger;
+import model.Employee;
+import repository.EmployeeRepository;
+
+public class EmployeeCsvIngestionService {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeCsvIngestionService.class.getName());
+    private static final long SEGMENT_BYTES = 8L * 1024 * 1024;
+    private static final int WRITE_BATCH_SIZE = 2_000;
+
+    public record IngestionResult(int imported, int skipped) {
+    }
+
+    private record Segment(int index, long start, long end) {
+    }
+
+    private record ParsedSegment(List<Employee> rows, int skipped) {
+    }
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeRepository repository() {
+        if (employeeRepository == null) {
+            employeeRepository = new EmployeeRepository();
+        }
+        return employeeRepository;
+    }
+
+    public IngestionResult ingest(Path csvPath) {
+        if (csvPath == null) {
+            throw new IllegalArgumentException("Import file is required.");
+        }
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new IngestionResult(0, 0);
+            }
+            long started = System.nanoTime();
+            List<Segment> segments = split(pool, channel, size);
+            IngestionResult result = writeOrdered(pool, channel, segments, parallelism * 2);
+            LOGGER.info(() -> "Parallel import of " + size + " bytes in " + segments.size() + " segment(s) took "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms.");
+            return result;
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalStateException("Unable to read import file.");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Segment> split(ForkJoinPool pool, FileChannel channel, long size) {
+        int blocks = (int) ((size + SEGMENT_BYTES - 1) / SEGMENT_BYTES);
+        List<ForkJoinTask<Integer>> counts = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            long start = i * SEGMENT_BYTES;
+            long end = Math.min(size, start + SEGMENT_BYTES);
+            counts.add(pool.submit(() -> countQuotes(channel, start, end)));
+        }
+
+        List<ForkJoinTask<Long>> boundaries = new ArrayList<>(blocks);
+        boolean inQuotes = false;
+        for (int i = 1; i < blocks; i++) {
+            inQuotes ^= (counts.get(i - 1).join() & 1) == 1;
+            long offset = i * SEGMENT_BYTES;
+            boolean quotedAtOffset = inQuotes;
+            boundaries.add(pool.submit(() -> nextRecordStart(channel, offset, size, quotedAtOffset)));
+        }
+
+        List<Segment> segments = new ArrayList<>(blocks);
+        long start = 0;
+        for (ForkJoinTask<Long> boundary : boundaries) {
+            long end = boundary.join();
+            if (end > start) {
+                segments.add(new Segment(segments.size(), start, end));
+                start = end;
+            }
+        }
+        if (start < size) {
+            segments.add(new Segment(segments.size(), start, size));
+        }
+        return segments;
+    }
+
+    private IngestionResult writeOrdered(ForkJoinPool pool, FileChannel channel, List<Segment> segments, int window) {
+        Set<String> existing;
+        try {
+            existing = repository().findNamePositionKeys();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to read existing employees.");
+        }
+
+        Deque<ForkJoinTask<ParsedSegment>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        while (next < segments.size() && inFlight.size() < window) {
+            Segment segment = segments.get(next++);
+            inFlight.add(pool.submit(() -> parse(channel, segment)));
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<Employee> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        int imported = 0;
+        int skipped = 0;
+        while (!inFlight.isEmpty()) {
+            ParsedSegment parsed = inFlight.poll().join();
+            if (next < segments.size()) {
+                Segment segment = segments.get(next++);
+                inFlight.add(pool.submit(() -> parse(channel, segment)));
+            }
+
+            skipped += parsed.skipped();
+            for (Employee row : parsed.rows()) {
+                String key = EmployeeRepository.namePositionKey(row.fullName(), row.position());
+                if (existing.contains(key) || !seen.add(key.toLowerCase())) {
+                    skipped++;
+                    continue;
+                }
+                batch.add(row.withTimestamps(now, now));
+                if (batch.size() >= WRITE_BATCH_SIZE) {
+                    TaskScheduler.getInstance().yieldToInteractive();
+                    imported += flush(batch);
+                }
+            }
+        }
+        imported += flush(batch);
+        return new IngestionResult(imported, skipped);
+    }
+
+    private int flush(List<Employee> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            int saved = repository().saveBatch(batch);
+            EmployeeQueryEngine.getInstance().invalidate();
+            return saved;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to save imported employees.");
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private ParsedSegment parse(FileChannel channel, Segment segment) {
+        MappedByteBuffer buffer = map(channel, segment.start(), segment.end());
+        List<Employee> rows = new ArrayList<>();
+        int skipped = 0;
+        boolean headerCandidate = segment.index() == 0;
+        byte[] scratch = new byte[256];
+        int recordStart = 0;
+        boolean inQuotes = false;
+        int limit = buffer.limit();
+        for (int i = 0; i <= limit; i++) {
+            boolean endOfRecord = i == limit;
+            if (!endOfRecord) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                    continue;
+                }
+                endOfRecord = b == '\n' && !inQuotes;
+            }
+            if (!endOfRecord) {
+                continue;
+            }
+
+            int length = i - recordStart;
+            if (length > 0 && buffer.get(recordStart + length - 1) == '\r') {
+                length--;
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(recordStart, scratch, 0, length);
+            recordStart = i + 1;
+
+            String line = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> cols = splitRecord(line);
+            if (headerCandidate) {
+                headerCandidate = false;
+                if (cols.size() >= 3 && "full_name".equalsIgnoreCase(cols.get(0).trim())) {
+                    continue;
+                }
+            }
+            if (cols.size() < 3) {
+                skipped++;
+                continue;
+            }
+            try {
+                String name = EmployeeService.required(cols.get(0), "Name is required.");
+                String position = EmployeeService.required(cols.get(1), "Position is required.");
+                double salary = EmployeeService.parseSalary(cols.get(2));
+                rows.add(new Employee(name, position, salary));
+            } catch (IllegalArgumentException ex) {
+                skipped++;
+            }
+        }
+        return new ParsedSegment(rows, skipped);
+    }
+
+    private List<String> splitRecord(String line) {
+        List<String> cols = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                cols.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        cols.add(field.toString());
+        return cols;
+    }
+
+    private int countQuotes(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer = map(channel, start, end);
+        int count = 0;
+        for (int i = 0, limit = buffer.limit(); i < limit; i++) {
+            if (buffer.get(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long nextRecordStart(FileChannel channel, long offset, long size, boolean inQuotes) {
+        long position = offset;
+        while (position < size) {
+            long end = Math.min(size, position + SEGMENT_BYTES);
+            MappedByteBuffer buffer = map(channel, position, end);
+            for (int i = 0, limit = buffer.limit(); i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    return position + i + 1;
+                }
+            }
+            position = end;
+        }
+        return size;
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long start, long end) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
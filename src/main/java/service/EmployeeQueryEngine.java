@@ -0,0 +1,283 @@
+package service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import model.Employee;
+import repository.EmployeeRepository;
+import repository.KeysetPager;
+import util.AppConstants;
+
+/**
+ * Answers the employee table's filter and sort queries from memory while the employee count stays at or
+ * below {@link AppConstants#EMPLOYEE_MEMORY_QUERY_LIMIT}. A snapshot holds lowercase search keys, a
+ * position index and one presorted row order per sort key; any employee write invalidates it and the
+ * next query rebuilds it. Keyword matching is a plain substring match, like the database's
+ * {@code LIKE '%keyword%'} without wildcards in the keyword: only ASCII letters fold case, and names sort
+ * by code point, as SQLite's default {@code BINARY} collation does.
+ */
+public final class EmployeeQueryEngine {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeQueryEngine.class.getName());
+    private static final List<String> SORT_KEYS = List.of("DEFAULT", "NAME_ASC", "NAME_DESC", "SALARY_ASC", "SALARY_DESC");
+
+    private static class Holder {
+        private static final EmployeeQueryEngine INSTANCE = new EmployeeQueryEngine();
+    }
+
+    private final EmployeeRepository repository = new EmployeeRepository();
+    private final AtomicLong version = new AtomicLong();
+    private Snapshot snapshot;
+    private long snapshotVersion = -1;
+
+    private EmployeeQueryEngine() {
+        DataReloadBus.getInstance().addListener(this::invalidate);
+    }
+
+    public static EmployeeQueryEngine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /** Called after any write to the employees table. */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Pager for the query that decides whether to answer from memory or from {@code database} on the
+     * caller's loader thread. A load starts with {@code boundaries} or {@code count}; if employees were
+     * written since the last resolve, those re-resolve so a refresh of the same query sees the write.
+     */
+    public KeysetPager<Employee, EmployeeRepository.PageKey> pager(String keyword, String position, String sortKey,
+            KeysetPager<Employee, EmployeeRepository.PageKey> database) {
+        return new KeysetPager<>() {
+            private KeysetPager<Employee, EmployeeRepository.PageKey> resolved;
+            private long resolvedVersion;
+
+            @Override
+            public int count() throws SQLException {
+                return resolve(true).count();
+            }
+
+            @Override
+            public List<EmployeeRepository.PageKey> boundaries(int pageSize) throws SQLException {
+                return resolve(true).boundaries(pageSize);
+            }
+
+            @Override
+            public List<Employee> pageAfter(EmployeeRepository.PageKey after, int limit) throws SQLException {
+                return resolve(false).pageAfter(after, limit);
+            }
+
+            private synchronized KeysetPager<Employee, EmployeeRepository.PageKey> resolve(boolean startOfLoad)
+                    throws SQLException {
+                long current = version.get();
+                if (resolved == null || (startOfLoad && resolvedVersion != current)) {
+                    Snapshot latest = snapshot();
+                    resolved = latest == null ? database : latest.query(keyword, position, sortKey);
+                    resolvedVersion = current;
+                }
+                return resolved;
+            }
+        };
+    }
+
+    /** Every matching employee in order, or {@code null} when the employees do not fit in memory. */
+    public List<Employee> filter(String keyword, String position, String sortKey) throws SQLException {
+        Snapshot current = snapshot();
+        return current == null ? null : current.query(keyword, position, sortKey).rows();
+    }
+
+    private synchronized Snapshot snapshot() throws SQLException {
+        long wanted = version.get();
+        if (snapshotVersion != wanted) {
+            snapshot = null;
+            if (repository.count() <= AppConstants.EMPLOYEE_MEMORY_QUERY_LIMIT) {
+                long started = System.nanoTime();
+                Snapshot built = new Snapshot(repository.findAll());
+                snapshot = built;
+                LOGGER.fine(() -> "Employee query snapshot of " + built.rows.length + " row(s) built in "
+                        + (System.nanoTime() - started) / 1_000_000 + " ms.");
+            }
+            snapshotVersion = wanted;
+        }
+        return snapshot;
+    }
+
+    private static String searchKey(String value) {
+        return EmployeeRepository.searchKey(value);
+    }
+
+    /** UTF-8 byte order, which is code point order; {@link String#compareTo} differs above the BMP. */
+    private static int compareBinary(String left, String right) {
+        int i = 0;
+        int j = 0;
+        while (i < left.length() && j < right.length()) {
+            int a = left.codePointAt(i);
+            int b = right.codePointAt(j);
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Boolean.compare(i < left.length(), j < right.length());
+    }
+
+    private static final class Snapshot {
+        private final Employee[] rows;
+        private final String[] nameKeys;
+        private final String[] positionKeys;
+        private final Map<String, int[]> rowsByPosition = new HashMap<>();
+        private final Map<String, int[]> orders = new HashMap<>();
+
+        /** {@code employees} arrive in id-descending order, which is the default sort. */
+        private Snapshot(List<Employee> employees) {
+            int size = employees.size();
+            rows = employees.toArray(new Employee[0]);
+            nameKeys = new String[size];
+            positionKeys = new String[size];
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                nameKeys[i] = searchKey(rows[i].fullName());
+                positionKeys[i] = searchKey(rows[i].position());
+                positions.computeIfAbsent(rows[i].position(), key -> new ArrayList<>()).add(i);
+            }
+            positions.forEach((position, indices) -> rowsByPosition.put(position,
+                    indices.stream().mapToInt(Integer::intValue).toArray()));
+
+            Comparator<Integer> byName = (a, b) -> compareBinary(rows[a].fullName(), rows[b].fullName());
+            Comparator<Integer> bySalary = Comparator.comparingDouble(i -> rows[i].monthlySalary());
+            int[] identity = new int[size];
+            Arrays.setAll(identity, i -> i);
+            orders.put("DEFAULT", identity);
+            orders.put("NAME_ASC", sorted(byName));
+            orders.put("NAME_DESC", sorted(byName.reversed()));
+            orders.put("SALARY_ASC", sorted(bySalary));
+            orders.put("SALARY_DESC", sorted(bySalary.reversed()));
+        }
+
+        /** Ties keep the id-descending input order, matching the database's {@code , id DESC}. */
+        private int[] sorted(Comparator<Integer> order) {
+            Integer[] indices = new Integer[rows.length];
+            Arrays.setAll(indices, i -> i);
+            Arrays.sort(indices, order);
+            return Arrays.stream(indices).mapToInt(Integer::intValue).toArray();
+        }
+
+        private Result query(String keyword, String position, String sortKey) {
+            int[] order = orders.get(sortKey != null && SORT_KEYS.contains(sortKey) ? sortKey : "DEFAULT");
+            boolean[] inPosition = null;
+            if (position != null && !position.isBlank()) {
+                inPosition = new boolean[rows.length];
+                for (int row : rowsByPosition.getOrDefault(position, new int[0])) {
+                    inPosition[row] = true;
+                }
+            }
+            String needle = keyword == null || keyword.isBlank() ? null : searchKey(keyword);
+            int[] matched = new int[order.length];
+            int count = 0;
+            for (int row : order) {
+                if (inPosition != null && !inPosition[row]) {
+                    continue;
+                }
+                if (needle != null && !nameKeys[row].contains(needle) && !positionKeys[row].contains(needle)) {
+                    continue;
+                }
+                matched[count++] = row;
+            }
+            return new Result(Arrays.copyOf(matched, count), sortKey);
+        }
+
+        /** One query's matches in order; keys carry the id, which locates the page start. */
+        private final class Result implements KeysetPager<Employee, EmployeeRepository.PageKey> {
+            private final int[] matched;
+            private final String sortKey;
+            private int[] positionOfRow;
+
+            private Result(int[] matched, String sortKey) {
+                this.matched = matched;
+                this.sortKey = sortKey;
+            }
+
+            @Override
+            public int count() {
+                return matched.length;
+            }
+
+            @Override
+            public List<EmployeeRepository.PageKey> boundaries(int pageSize) {
+                List<EmployeeRepository.PageKey> keys = new ArrayList<>(matched.length / pageSize);
+                for (int i = pageSize - 1; i < matched.length; i += pageSize) {
+                    keys.add(key(rows[matched[i]]));
+                }
+                return keys;
+            }
+
+            @Override
+            public synchronized List<Employee> pageAfter(EmployeeRepository.PageKey after, int limit) {
+                int start = 0;
+                if (after != null) {
+                    int row = rowOf(after.id());
+                    if (row < 0) {
+                        return new ArrayList<>();
+                    }
+                    if (positionOfRow == null) {
+                        positionOfRow = new int[rows.length];
+                        Arrays.fill(positionOfRow, -1);
+                        for (int i = 0; i < matched.length; i++) {
+                            positionOfRow[matched[i]] = i;
+                        }
+                    }
+                    if (positionOfRow[row] < 0) {
+                        return new ArrayList<>();
+                    }
+                    start = positionOfRow[row] + 1;
+                }
+                int end = Math.min(matched.length, start + limit);
+                List<Employee> page = new ArrayList<>(Math.max(0, end - start));
+                for (int i = start; i < end; i++) {
+                    page.add(rows[matched[i]]);
+                }
+                return page;
+            }
+
+            private List<Employee> rows() {
+                return pageAfter(null, matched.length);
+            }
+
+            private EmployeeRepository.PageKey key(Employee employee) {
+                Object sortValue = switch (sortKey == null ? "" : sortKey) {
+                    case "NAME_ASC", "NAME_DESC" -> employee.fullName();
+                    case "SALARY_ASC", "SALARY_DESC" -> employee.monthlySalary();
+                    default -> employee.id();
+                };
+                return new EmployeeRepository.PageKey(sortValue, employee.id());
+            }
+
+            /** Rows are in id-descending order, so an id is found by binary search. */
+            private int rowOf(long id) {
+                int lo = 0;
+                int hi = rows.length - 1;
+                while (lo <= hi) {
+                    int mid = (lo + hi) >>> 1;
+                    long midId = rows[mid].id();
+                    if (midId == id) {
+                        return mid;
+                    }
+                    if (midId > id) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid - 1;
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+}
@@ -2,13 +2,16 @@ package service;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import model.Employee;
 import repository.EmployeeRepository;
+import repository.PayrollDirtyRepository;
 import util.ValidationUtil;
 
 public class EmployeeService {
     private EmployeeRepository employeeRepository;
+    private PayrollDirtyRepository dirtyRepository;
 
     private EmployeeRepository repository() {
         if (employeeRepository == null) {
@@ -17,6 +20,13 @@ public class EmployeeService {
         return employeeRepository;
     }
 
+    private PayrollDirtyRepository dirtyRepository() {
+        if (dirtyRepository == null) {
+            dirtyRepository = new PayrollDirtyRepository();
+        }
+        return dirtyRepository;
+    }
+
     public void initialize() {
         SQLException last = null;
         for (int attempt = 1; attempt <= 3; attempt++) {
@@ -56,15 +66,24 @@ public class EmployeeService {
     public List<Employee> filterAndSort(String keyword, String position, String sortKey) {
         String normalizedKeyword = normalize(keyword);
         String normalizedPosition = normalize(position);
+        String positionFilter = normalizedPosition.equalsIgnoreCase("ALL") ? "" : normalizedPosition;
         try {
-            return repository().findFiltered(normalizedKeyword,
-                    normalizedPosition.equalsIgnoreCase("ALL") ? "" : normalizedPosition,
-                    sortKey);
+            List<Employee> inMemory = EmployeeQueryEngine.getInstance().filter(normalizedKeyword, positionFilter, sortKey);
+            return inMemory != null ? inMemory : repository().findFiltered(normalizedKeyword, positionFilter, sortKey);
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to filter employees.");
         }
     }
 
+    public PageQuery<Employee, EmployeeRepository.PageKey> pages(String keyword, String position, String sortKey) {
+        String normalizedKeyword = normalize(keyword);
+        String normalizedPosition = normalize(position);
+        String positionFilter = normalizedPosition.equalsIgnoreCase("ALL") ? "" : normalizedPosition;
+        return new PageQuery<>(EmployeeQueryEngine.getInstance().pager(normalizedKeyword, positionFilter, sortKey,
+                repository().filteredPager(normalizedKeyword, positionFilter, sortKey)),
+                Arrays.asList("employees", normalizedKeyword, positionFilter, sortKey), "Unable to load employees.");
+    }
+
     public List<String> listPositions() {
         try {
             return repository().findDistinctPositions();
@@ -85,14 +104,16 @@ public class EmployeeService {
 
             LocalDateTime now = LocalDateTime.now();
             Employee employee = new Employee(name, role, salary).withTimestamps(now, now);
-            return repository().save(employee);
+            Employee saved = repository().save(employee);
+            EmployeeQueryEngine.getInstance().invalidate();
+            return saved;
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to save employee.");
         }
     }
 
     public Employee update(Employee existing, String fullName, String position, String salaryText) {
-        if (existing == null || existing.getId() <= 0) {
+        if (existing == null || existing.id() <= 0) {
             throw new IllegalArgumentException("Select a valid employee first.");
         }
 
@@ -101,15 +122,19 @@ public class EmployeeService {
         double salary = parseSalary(salaryText);
 
         try {
-            if (repository().existsByNameAndPosition(name, role, existing.getId())) {
+            if (repository().existsByNameAndPosition(name, role, existing.id())) {
                 throw new IllegalArgumentException("Duplicate employee (same name and position) is not allowed.");
             }
 
-            Employee updated = new Employee(existing.getId(), name, role, salary, existing.getCreatedAt(), LocalDateTime.now());
+            Employee updated = new Employee(existing.id(), name, role, salary, existing.createdAt(), LocalDateTime.now());
             boolean success = repository().update(updated);
+            EmployeeQueryEngine.getInstance().invalidate();
             if (!success) {
                 throw new IllegalStateException("Employee record was not updated.");
             }
+            if (Double.compare(existing.monthlySalary(), salary) != 0) {
+                dirtyRepository().markEmployee(existing.id());
+            }
             return updated;
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to update employee.");
@@ -122,6 +147,7 @@ public class EmployeeService {
         }
         try {
             repository().deleteById(id);
+            EmployeeQueryEngine.getInstance().invalidate();
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to delete employee.");
         }
@@ -132,13 +158,15 @@ public class EmployeeService {
             return 0;
         }
         try {
-            return repository().deleteBatch(ids);
+            int deleted = repository().deleteBatch(ids);
+            EmployeeQueryEngine.getInstance().invalidate();
+            return deleted;
         } catch (SQLException ex) {
             throw new IllegalStateException("Unable to delete selected employees.");
         }
     }
 
-    private String required(String value, String message) {
+    static String required(String value, String message) {
         String normalized = normalize(value);
         if (ValidationUtil.isBlank(normalized)) {
             throw new IllegalArgumentException(message);
@@ -146,11 +174,11 @@ public class EmployeeService {
         return normalized;
     }
 
-    private String normalize(String value) {
+    static String normalize(String value) {
         return value == null ? "" : value.trim().replaceAll("\\s+", " ");
     }
 
-    private double parseSalary(String salaryText) {
+    static double parseSalary(String salaryText) {
         String normalized = normalize(salaryText);
         try {
             double salary = Double.parseDouble(normalized);
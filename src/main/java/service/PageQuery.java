@@ -0,0 +1,84 @@
+package service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import repository.KeysetPager;
+
+public final class PageQuery<T, K> {
+    private final KeysetPager<T, K> pager;
+    private final Object key;
+    private final String failureMessage;
+
+    PageQuery(KeysetPager<T, K> pager, Object key, String failureMessage) {
+        this.pager = pager;
+        this.key = key;
+        this.failureMessage = failureMessage;
+    }
+
+    /** Equal keys mean the queries select and order the same rows, so a view can diff one into the other. */
+    public Object key() {
+        return key;
+    }
+
+    public int count() {
+        try {
+            return pager.count();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(failureMessage);
+        }
+    }
+
+    public List<K> boundaries(int pageSize) {
+        try {
+            return pager.boundaries(pageSize);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(failureMessage);
+        }
+    }
+
+    public List<T> pageAfter(K after, int limit) {
+        try {
+            return pager.pageAfter(after, limit);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(failureMessage);
+        }
+    }
+
+    /** Same rows and key, each converted by {@code mapper} as its page is read. */
+    public <U> PageQuery<U, K> map(Function<? super T, ? extends U> mapper) {
+        KeysetPager<U, K> mapped = new KeysetPager<>() {
+            @Override
+            public int count() throws SQLException {
+                return pager.count();
+            }
+
+            @Override
+            public List<K> boundaries(int pageSize) throws SQLException {
+                return pager.boundaries(pageSize);
+            }
+
+            @Override
+            public List<U> pageAfter(K after, int limit) throws SQLException {
+                List<T> rows = pager.pageAfter(after, limit);
+                List<U> converted = new ArrayList<>(rows.size());
+                for (T row : rows) {
+                    converted.add(mapper.apply(row));
+                }
+                return converted;
+            }
+        };
+        return new PageQuery<>(mapped, key, failureMessage);
+    }
+
+    /** Reads every row in page order; for exports that need the whole result. */
+    public List<T> readAll(int pageSize) {
+        List<T> rows = new ArrayList<>();
+        List<K> boundaries = boundaries(pageSize);
+        for (int page = 0; page <= boundaries.size(); page++) {
+            rows.addAll(pageAfter(page == 0 ? null : boundaries.get(page - 1), pageSize));
+        }
+        return rows;
+    }
+}
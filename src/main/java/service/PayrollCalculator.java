@@ -1,16 +1,28 @@
 package service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import util.Money;
 
 public class PayrollCalculator {
+    private final Money.Rounding rounding;
+
+    public PayrollCalculator() {
+        this(Money.Rounding.HALF_UP);
+    }
+
+    public PayrollCalculator(Money.Rounding rounding) {
+        this.rounding = rounding;
+    }
+
     public double compute(double monthlySalary, double effectiveWorkDays, double requiredWorkDays) {
-        if (effectiveWorkDays <= 0 || requiredWorkDays <= 0 || monthlySalary <= 0) {
-            return 0.0d;
+        return Money.toDouble(computeCents(Money.toCents(monthlySalary),
+                (int) Math.round(effectiveWorkDays * 2), (int) Math.round(requiredWorkDays * 2)));
+    }
+
+    public long computeCents(long monthlySalaryCents, int effectiveHalfDays, int requiredHalfDays) {
+        if (effectiveHalfDays <= 0 || requiredHalfDays <= 0 || monthlySalaryCents <= 0) {
+            return 0L;
         }
-        double dailyRate = monthlySalary / requiredWorkDays;
-        double raw = dailyRate * effectiveWorkDays;
-        double capped = Math.min(raw, monthlySalary);
-        return BigDecimal.valueOf(capped).setScale(2, RoundingMode.HALF_UP).doubleValue();
+        long raw = Money.multiplyDivide(monthlySalaryCents, effectiveHalfDays, requiredHalfDays, rounding);
+        return Math.min(raw, monthlySalaryCents);
     }
 }
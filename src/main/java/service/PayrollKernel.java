@@ -0,0 +1,6 @@
+package service;
+
+interface PayrollKernel {
+    void computeHalfUp(long[] salaryCents, int[] effectiveHalfDays, int[] requiredHalfDays, long[] out, int length,
+            PayrollCalculator scalar);
+}
@@ -0,0 +1,163 @@
+package service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.PayrollRecord;
+import repository.AttendanceRepository;
+import repository.PayrollDirtyRepository;
+import repository.PayrollRepository;
+import util.Money;
+
+public final class PayrollRecalculationService {
+    private static final Logger LOGGER = Logger.getLogger(PayrollRecalculationService.class.getName());
+    private static final int BATCH_SIZE = 500;
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(3);
+
+    private static class Holder {
+        private static final PayrollRecalculationService INSTANCE = new PayrollRecalculationService();
+    }
+
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+    private final WorkDayCalculator workDayCalculator = new WorkDayCalculator();
+    private final PayrollDirtyRepository dirtyRepository = new PayrollDirtyRepository();
+    private final PayrollRepository payrollRepository = new PayrollRepository();
+    private final AttendanceRepository attendanceRepository = new AttendanceRepository();
+    private final List<Consumer<Set<YearMonth>>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private SettingsService settingsService;
+    private volatile double lastRequiredWorkDays;
+
+    private PayrollRecalculationService() {
+    }
+
+    public static PayrollRecalculationService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public synchronized void start(SettingsService settings) {
+        if (executor != null) {
+            return;
+        }
+        settingsService = settings;
+        lastRequiredWorkDays = settings.requiredWorkDays();
+        settings.addChangeListener(updated -> {
+            if (Double.compare(updated.getRequiredWorkDays(), lastRequiredWorkDays) != 0) {
+                lastRequiredWorkDays = updated.getRequiredWorkDays();
+                submit(this::markAllUnpaid);
+            }
+        });
+        WorkCalendarService.getInstance().addChangeListener(() -> submit(this::markAllUnpaid));
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payroll-recalculator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, POLL_INTERVAL.toMillis(), POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+        }
+        if (running != null) {
+            running.shutdownNow();
+        }
+    }
+
+    public void addListener(Consumer<Set<YearMonth>> listener) {
+        listeners.add(listener);
+    }
+
+    public void requestRecalculation() {
+        if (drainQueued.compareAndSet(false, true) && !submit(this::drain)) {
+            drainQueued.set(false);
+        }
+    }
+
+    private synchronized boolean submit(Runnable task) {
+        if (executor == null) {
+            return false;
+        }
+        executor.execute(task);
+        return true;
+    }
+
+    public int pendingCount() {
+        try {
+            return dirtyRepository.countPending();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to read pending payroll recalculations.");
+        }
+    }
+
+    private void markAllUnpaid() {
+        try {
+            int marked = dirtyRepository.markAllUnpaid();
+            LOGGER.fine(() -> "Required work days changed; " + marked + " unpaid payroll record(s) marked for recalculation.");
+            requestRecalculation();
+        } catch (SQLException ex) {
+            LOGGER.log(Level.WARNING, "Unable to mark unpaid payroll for recalculation.", ex);
+        }
+    }
+
+    private void drain() {
+        drainQueued.set(false);
+        Set<YearMonth> touched = new TreeSet<>();
+        try {
+            List<PayrollDirtyRepository.DirtyEntry> batch = dirtyRepository.nextBatch(BATCH_SIZE);
+            while (!batch.isEmpty()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                TaskScheduler.getInstance().yieldToInteractive();
+                LocalDateTime now = LocalDateTime.now();
+                List<PayrollRecord> updates = new ArrayList<>(batch.size());
+                List<Long> processed = new ArrayList<>(batch.size());
+                for (PayrollDirtyRepository.DirtyEntry entry : batch) {
+                    processed.add(entry.dirtyId());
+                    if (!entry.recalculable()) {
+                        continue;
+                    }
+                    AttendanceRepository.MonthlyStatusTotals totals = AttendanceIndex.getInstance().totals(entry.employeeId(), entry.month());
+                    if (totals == null) {
+                        totals = attendanceRepository.aggregateByEmployeeAndMonth(entry.employeeId(), entry.month());
+                    }
+                    WorkDayCalculator.WorkDaySummary summary = workDayCalculator.calculate(totals,
+                            PayrollService.requiredWorkDays(settingsService, entry.month()));
+                    long salaryCents = Money.toCents(entry.monthlySalary());
+                    long computed = payrollCalculator.computeCents(salaryCents, summary.effectiveHalfDays(), summary.requiredHalfDays());
+                    updates.add(new PayrollRecord(entry.payrollId(), entry.employeeId(), entry.month(), salaryCents,
+                            summary.effectiveWorkDays(), summary.requiredWorkDays(), computed, PayrollRecord.Status.UNPAID,
+                            null, null, now));
+                    touched.add(entry.month());
+                }
+                payrollRepository.updateComputations(updates);
+                dirtyRepository.clear(processed);
+                batch = dirtyRepository.nextBatch(BATCH_SIZE);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Payroll recalculation batch failed; it will be retried.", ex);
+        }
+        if (!touched.isEmpty()) {
+            LOGGER.fine(() -> "Recalculated unpaid payroll for " + touched);
+            listeners.forEach(listener -> listener.accept(Set.copyOf(touched)));
+        }
+    }
+}
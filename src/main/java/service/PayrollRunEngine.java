@@ -0,0 +1,467 @@
+package service;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.Employee;
+import model.PayrollRecord;
+import repository.AttendanceRepository;
+import repository.EmployeeRepository;
+import repository.PayrollRepository;
+import repository.PayrollRunRepository;
+import repository.RowCallback;
+import util.Money;
+
+public class PayrollRunEngine {
+    private static final Logger LOGGER = Logger.getLogger(PayrollRunEngine.class.getName());
+    private static final int PARTITION_SIZE = 1_000;
+    private static final AttendanceRepository.MonthlyStatusTotals NO_ATTENDANCE =
+            new AttendanceRepository.MonthlyStatusTotals(0, 0, 0, 0);
+
+    public record RunResult(int generated, int skipped) {
+    }
+
+    public record RangeResult(Map<YearMonth, RunResult> months) {
+        public int generated() {
+            return months.values().stream().mapToInt(RunResult::generated).sum();
+        }
+
+        public int skipped() {
+            return months.values().stream().mapToInt(RunResult::skipped).sum();
+        }
+    }
+
+    private record MonthAttendance(YearMonth month, Map<Long, AttendanceRepository.MonthlyStatusTotals> totals, Exception failure) {
+        private static final MonthAttendance END = new MonthAttendance(null, Map.of(), null);
+    }
+
+    private static final class MonthAccumulator implements RowCallback<AttendanceRepository.EmployeeMonthTotals> {
+        private final BlockingQueue<MonthAttendance> handoff;
+        private YearMonth month;
+        private Map<Long, AttendanceRepository.MonthlyStatusTotals> totals = new HashMap<>();
+
+        private MonthAccumulator(BlockingQueue<MonthAttendance> handoff) {
+            this.handoff = handoff;
+        }
+
+        @Override
+        public boolean onRow(AttendanceRepository.EmployeeMonthTotals row) {
+            if (!row.month().equals(month) && !flush()) {
+                return false;
+            }
+            month = row.month();
+            totals.put(row.employeeId(), row.totals());
+            return true;
+        }
+
+        private boolean flush() {
+            if (month == null) {
+                return true;
+            }
+            try {
+                handoff.put(new MonthAttendance(month, totals, null));
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            month = null;
+            totals = new HashMap<>();
+            return true;
+        }
+    }
+
+    private record Snapshot(List<Employee> pending, int skipped, Map<Long, AttendanceRepository.MonthlyStatusTotals> attendance) {
+    }
+
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+    private final BulkPayrollCalculator bulkCalculator = new BulkPayrollCalculator();
+    private final WorkDayCalculator workDayCalculator = new WorkDayCalculator();
+    private final PayrollRepository.PayrollFormula formula = new PayrollRepository.PayrollFormula() {
+        @Override
+        public long salaryCents(double monthlySalary) {
+            return Money.toCents(monthlySalary);
+        }
+
+        @Override
+        public double effectiveWorkDays(int present, int absent, int late, int halfDay) {
+            return workDayCalculator.calculate(new AttendanceRepository.MonthlyStatusTotals(present, absent, late, halfDay), 0)
+                    .effectiveWorkDays();
+        }
+
+        @Override
+        public long computeSalaryCents(long monthlySalaryCents, double effectiveWorkDays, double requiredWorkDays) {
+            return payrollCalculator.computeCents(monthlySalaryCents,
+                    (int) Math.round(effectiveWorkDays * 2), (int) Math.round(requiredWorkDays * 2));
+        }
+    };
+    private EmployeeRepository employeeRepository;
+    private AttendanceRepository attendanceRepository;
+    private PayrollRepository payrollRepository;
+    private PayrollRunRepository runRepository;
+    private final Set<YearMonth> activeMonths = ConcurrentHashMap.newKeySet();
+
+    private EmployeeRepository employeeRepository() {
+        if (employeeRepository == null) employeeRepository = new EmployeeRepository();
+        return employeeRepository;
+    }
+
+    private AttendanceRepository attendanceRepository() {
+        if (attendanceRepository == null) attendanceRepository = new AttendanceRepository();
+        return attendanceRepository;
+    }
+
+    private PayrollRunRepository runRepository() {
+        if (runRepository == null) runRepository = new PayrollRunRepository();
+        return runRepository;
+    }
+
+    private PayrollRepository payrollRepository() {
+        if (payrollRepository == null) payrollRepository = new PayrollRepository();
+        return payrollRepository;
+    }
+
+    public RunResult run(YearMonth month, int requiredWorkDays, ProgressListener progress, CancellationToken token) {
+        if (month == null) throw new IllegalArgumentException("Month is required.");
+        if (!activeMonths.add(month)) {
+            throw new IllegalStateException("A payroll run for " + month + " is already in progress.");
+        }
+        try {
+            List<Employee> employees = loadEmployees();
+            return runJournaled(month, requiredWorkDays, employees, loadAttendance(month), progress, token);
+        } finally {
+            activeMonths.remove(month);
+        }
+    }
+
+    public RangeResult runRange(YearMonth from, YearMonth to, ToIntFunction<YearMonth> requiredWorkDays, RangeProgressListener progress,
+            CancellationToken token) {
+        List<YearMonth> months = months(from, to);
+        List<YearMonth> locked = lockMonths(months);
+        try {
+            return runRangeLocked(months, requiredWorkDays, progress, token);
+        } finally {
+            locked.forEach(activeMonths::remove);
+        }
+    }
+
+    /**
+     * Push-down counterpart of {@link #runRange}: every month is generated by one statement over a single
+     * grouped attendance scan, so progress moves a whole month at a time once the statement finishes.
+     */
+    public RangeResult runRangePushDown(YearMonth from, YearMonth to, ToIntFunction<YearMonth> requiredWorkDays,
+            RangeProgressListener progress, CancellationToken token) {
+        List<YearMonth> months = months(from, to);
+        List<YearMonth> locked = lockMonths(months);
+        try {
+            token.throwIfCancelled();
+            long started = System.nanoTime();
+            Map<YearMonth, Integer> required = new LinkedHashMap<>();
+            months.forEach(month -> required.put(month, requiredWorkDays.applyAsInt(month)));
+            months.forEach(month -> progress.onProgress(month, 0, 1));
+            Map<YearMonth, Integer> existing = payrollRepository().countByMonths(from, to);
+            payrollRepository().generateMonths(required, formula, LocalDateTime.now());
+            Map<YearMonth, Integer> stored = payrollRepository().countByMonths(from, to);
+            Map<YearMonth, RunResult> results = new LinkedHashMap<>();
+            for (YearMonth month : months) {
+                int skipped = existing.getOrDefault(month, 0);
+                results.put(month, new RunResult(stored.getOrDefault(month, 0) - skipped, skipped));
+                progress.onProgress(month, 1, 1);
+            }
+            RangeResult result = new RangeResult(Collections.unmodifiableMap(results));
+            LOGGER.info(() -> "Push-down payroll range " + from + ".." + to + " generated " + result.generated() + " record(s) in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms.");
+            return result;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to generate payroll in the database.");
+        } finally {
+            locked.forEach(activeMonths::remove);
+        }
+    }
+
+    private static List<YearMonth> months(YearMonth from, YearMonth to) {
+        if (from == null || to == null) throw new IllegalArgumentException("Month range is required.");
+        if (from.isAfter(to)) throw new IllegalArgumentException("Start month must not be after end month.");
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    private List<YearMonth> lockMonths(List<YearMonth> months) {
+        List<YearMonth> locked = new ArrayList<>(months.size());
+        for (YearMonth month : months) {
+            if (!activeMonths.add(month)) {
+                locked.forEach(activeMonths::remove);
+                throw new IllegalStateException("A payroll run for " + month + " is already in progress.");
+            }
+            locked.add(month);
+        }
+        return locked;
+    }
+
+    private RangeResult runRangeLocked(List<YearMonth> months, ToIntFunction<YearMonth> requiredWorkDays, RangeProgressListener progress,
+            CancellationToken token) {
+        long started = System.nanoTime();
+        YearMonth from = months.get(0);
+        YearMonth to = months.get(months.size() - 1);
+        List<Employee> employees = loadEmployees();
+        BlockingQueue<MonthAttendance> handoff = new ArrayBlockingQueue<>(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payroll-range-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<YearMonth, RunResult> results = new LinkedHashMap<>();
+        try {
+            reader.execute(() -> streamAttendance(from, to, handoff));
+            MonthAttendance ahead = null;
+            for (YearMonth month : months) {
+                token.throwIfCancelled();
+                if (ahead == null) {
+                    ahead = takeAttendance(handoff);
+                }
+                Map<Long, AttendanceRepository.MonthlyStatusTotals> attendance = Map.of();
+                if (month.equals(ahead.month())) {
+                    attendance = ahead.totals();
+                    ahead = null;
+                }
+                results.put(month, runJournaled(month, requiredWorkDays.applyAsInt(month), employees, attendance,
+                        (completed, total) -> progress.onProgress(month, completed, total), token));
+            }
+        } finally {
+            reader.shutdownNow();
+        }
+        RangeResult result = new RangeResult(Collections.unmodifiableMap(results));
+        LOGGER.info(() -> "Payroll range " + from + ".." + to + " generated " + result.generated() + " record(s) in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms.");
+        return result;
+    }
+
+    private void streamAttendance(YearMonth from, YearMonth to, BlockingQueue<MonthAttendance> handoff) {
+        MonthAccumulator accumulator = new MonthAccumulator(handoff);
+        MonthAttendance end = MonthAttendance.END;
+        try {
+            attendanceRepository().streamMonthlyTotals(from, to, accumulator);
+            accumulator.flush();
+        } catch (SQLException | RuntimeException ex) {
+            end = new MonthAttendance(null, Map.of(), ex);
+        }
+        try {
+            handoff.put(end);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MonthAttendance takeAttendance(BlockingQueue<MonthAttendance> handoff) {
+        MonthAttendance next;
+        try {
+            next = handoff.take();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Operation cancelled.");
+        }
+        if (next.failure() != null) {
+            throw new IllegalStateException("Unable to load attendance for the payroll range.");
+        }
+        return next;
+    }
+
+    public List<PayrollRunRepository.RunJournal> resumableRuns() {
+        try {
+            return runRepository().findResumable();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to read the payroll run journal.");
+        }
+    }
+
+    private RunResult runJournaled(YearMonth month, int requiredWorkDays, List<Employee> employees,
+            Map<Long, AttendanceRepository.MonthlyStatusTotals> attendance, ProgressListener progress, CancellationToken token) {
+        long started = System.nanoTime();
+        PayrollRunRepository.RunJournal journal = resumableJournal(month);
+        int required = journal == null ? requiredWorkDays : journal.requiredWorkDays();
+        long cursor = journal == null ? 0L : journal.cursorEmployeeId();
+        int alreadyProcessed = journal == null ? 0 : journal.processed();
+        if (journal != null) {
+            LOGGER.info(() -> "Resuming payroll run " + journal.id() + " for " + month + " after employee "
+                    + journal.cursorEmployeeId() + " (" + journal.processed() + " already processed).");
+        }
+
+        Snapshot snapshot = pending(month, employees, attendance, cursor);
+        List<Employee> pending = snapshot.pending();
+        int total = alreadyProcessed + pending.size();
+        long runId = journal == null ? beginJournal(month, required, total) : journal.id();
+        progress.onProgress(alreadyProcessed, total);
+        if (pending.isEmpty()) {
+            finishJournal(runId, PayrollRunRepository.Status.COMPLETED, total);
+            return new RunResult(0, snapshot.skipped());
+        }
+
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        LocalDateTime now = LocalDateTime.now();
+        int generated = 0;
+        int completed = alreadyProcessed;
+        PayrollRunRepository.Status outcome = PayrollRunRepository.Status.PAUSED;
+        try {
+            Deque<ForkJoinTask<List<PayrollRecord>>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            while (next < pending.size() || !inFlight.isEmpty()) {
+                while (next < pending.size() && inFlight.size() < parallelism * 2) {
+                    List<Employee> partition = pending.subList(next, Math.min(pending.size(), next + PARTITION_SIZE));
+                    next += partition.size();
+                    inFlight.add(pool.submit(() -> compute(partition, month, required, snapshot.attendance(), now)));
+                }
+                token.throwIfCancelled();
+                TaskScheduler.getInstance().yieldToInteractive();
+                List<PayrollRecord> records = inFlight.poll().join();
+                generated += commit(runId, records);
+                completed += records.size();
+                progress.onProgress(completed, total);
+            }
+            outcome = PayrollRunRepository.Status.COMPLETED;
+        } finally {
+            pool.shutdownNow();
+            finishJournal(runId, outcome, total);
+        }
+        int written = generated;
+        LOGGER.info(() -> "Payroll run for " + month + " generated " + written + " record(s) in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms.");
+        return new RunResult(generated, snapshot.skipped());
+    }
+
+    public RunResult runPushDown(YearMonth month, int requiredWorkDays, ProgressListener progress, CancellationToken token) {
+        if (month == null) throw new IllegalArgumentException("Month is required.");
+        token.throwIfCancelled();
+        long started = System.nanoTime();
+        try {
+            int existing = payrollRepository().countByMonth(month);
+            progress.onProgress(0, 1);
+            int generated = payrollRepository().generateMonth(month, requiredWorkDays, formula, LocalDateTime.now());
+            progress.onProgress(1, 1);
+            LOGGER.info(() -> "Push-down payroll run for " + month + " generated " + generated + " record(s) in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms.");
+            return new RunResult(generated, existing);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to generate payroll in the database.");
+        }
+    }
+
+    private List<Employee> loadEmployees() {
+        try {
+            List<Employee> employees = new ArrayList<>(employeeRepository().findAll());
+            employees.sort(Comparator.comparingLong(Employee::id));
+            return employees;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to load payroll run data.");
+        }
+    }
+
+    private Map<Long, AttendanceRepository.MonthlyStatusTotals> loadAttendance(YearMonth month) {
+        Map<Long, AttendanceRepository.MonthlyStatusTotals> indexed = AttendanceIndex.getInstance().totalsForMonth(month);
+        if (indexed != null) {
+            return indexed;
+        }
+        try {
+            return attendanceRepository().aggregateAllByMonth(month);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to load payroll run data.");
+        }
+    }
+
+    private Snapshot pending(YearMonth month, List<Employee> employeesById,
+            Map<Long, AttendanceRepository.MonthlyStatusTotals> attendance, long afterEmployeeId) {
+        try {
+            Set<Long> processed = payrollRepository().findEmployeeIdsByMonth(month);
+            List<Employee> pending = new ArrayList<>(employeesById.size());
+            for (Employee employee : employeesById) {
+                if (employee.id() > afterEmployeeId && !processed.contains(employee.id())) {
+                    pending.add(employee);
+                }
+            }
+            return new Snapshot(pending, employeesById.size() - pending.size(), attendance);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to load payroll run data.");
+        }
+    }
+
+    private List<PayrollRecord> compute(List<Employee> partition, YearMonth month, int requiredWorkDays,
+            Map<Long, AttendanceRepository.MonthlyStatusTotals> attendance, LocalDateTime now) {
+        int size = partition.size();
+        long[] salaryCents = new long[size];
+        int[] effectiveHalfDays = new int[size];
+        int[] requiredHalfDays = new int[size];
+        long[] computed = new long[size];
+        WorkDayCalculator.WorkDaySummary[] summaries = new WorkDayCalculator.WorkDaySummary[size];
+        for (int i = 0; i < size; i++) {
+            Employee employee = partition.get(i);
+            summaries[i] = workDayCalculator.calculate(attendance.getOrDefault(employee.id(), NO_ATTENDANCE), requiredWorkDays);
+            salaryCents[i] = Money.toCents(employee.monthlySalary());
+            effectiveHalfDays[i] = summaries[i].effectiveHalfDays();
+            requiredHalfDays[i] = summaries[i].requiredHalfDays();
+        }
+        bulkCalculator.computeCents(salaryCents, effectiveHalfDays, requiredHalfDays, computed);
+
+        List<PayrollRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(new PayrollRecord(partition.get(i).id(), month, salaryCents[i],
+                    summaries[i].effectiveWorkDays(), summaries[i].requiredWorkDays(), computed[i], PayrollRecord.Status.UNPAID)
+                    .withTimestamps(null, now, now));
+        }
+        return records;
+    }
+
+    private int commit(long runId, List<PayrollRecord> records) {
+        try {
+            return runRepository().commitChunk(runId, records, records.get(records.size() - 1).employeeId());
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to batch process payroll.");
+        }
+    }
+
+    private PayrollRunRepository.RunJournal resumableJournal(YearMonth month) {
+        try {
+            return runRepository().findResumable(month);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to read the payroll run journal.");
+        }
+    }
+
+    private long beginJournal(YearMonth month, int requiredWorkDays, int total) {
+        try {
+            return runRepository().begin(month, requiredWorkDays, total).id();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to start the payroll run journal.");
+        }
+    }
+
+    private void finishJournal(long runId, PayrollRunRepository.Status status, int total) {
+        try {
+            runRepository().updateStatus(runId, status, total);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.WARNING, "Unable to record payroll run " + runId + " as " + status + ".", ex);
+        }
+    }
+}
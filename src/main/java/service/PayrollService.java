@@ -3,15 +3,20 @@ package service;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.ArrayList;
 import java.util.List;
 import model.Employee;
 import model.PayrollRecord;
 import repository.AttendanceRepository;
 import repository.EmployeeRepository;
+import repository.PayrollDirtyRepository;
 import repository.PayrollRepository;
+import repository.PayrollRunRepository;
+import util.AppConstants;
+import util.Money;
 
 public class PayrollService {
+    private static final WorkDayCalculator WORK_DAYS = new WorkDayCalculator();
+
     private PayrollRepository payrollRepository;
     private EmployeeRepository employeeRepository;
     private AttendanceRepository attendanceRepository;
@@ -19,6 +24,16 @@ public class PayrollService {
     private AttendanceService attendanceService;
     private final PayrollCalculator payrollCalculator = new PayrollCalculator();
     private SettingsService settingsService;
+    private PayrollRunEngine runEngine;
+    private PayrollDirtyRepository dirtyRepository;
+    private PayrollRunRepository runRepository;
+
+    public PayrollService() {
+    }
+
+    public PayrollService(SettingsService settingsService) {
+        this.settingsService = settingsService;
+    }
 
     private PayrollRepository payrollRepository() {
         if (payrollRepository == null) payrollRepository = new PayrollRepository();
@@ -45,6 +60,21 @@ public class PayrollService {
         return attendanceService;
     }
 
+    private PayrollRunEngine runEngine() {
+        if (runEngine == null) runEngine = new PayrollRunEngine();
+        return runEngine;
+    }
+
+    private PayrollRunRepository runRepository() {
+        if (runRepository == null) runRepository = new PayrollRunRepository();
+        return runRepository;
+    }
+
+    private PayrollDirtyRepository dirtyRepository() {
+        if (dirtyRepository == null) dirtyRepository = new PayrollDirtyRepository();
+        return dirtyRepository;
+    }
+
     private SettingsService settingsService() {
         if (settingsService == null) settingsService = new SettingsService();
         return settingsService;
@@ -57,6 +87,8 @@ public class PayrollService {
                 employeeRepository().ensureSchema();
                 attendanceRepository().ensureSchema();
                 payrollRepository().ensureSchema();
+                dirtyRepository().ensureSchema();
+                runRepository().ensureSchema();
                 return;
             } catch (SQLException ex) {
                 last = ex;
@@ -73,6 +105,10 @@ public class PayrollService {
         catch (SQLException ex) { throw new IllegalStateException("Unable to load payroll records."); }
     }
 
+    public PageQuery<PayrollRecord, Long> pagesByMonth(YearMonth month) {
+        return new PageQuery<>(payrollRepository().monthPager(month), List.of("payroll", month), "Unable to load payroll records.");
+    }
+
     public PayrollRecord generateForEmployee(long employeeId, YearMonth month) {
         if (month == null) throw new IllegalArgumentException("Month is required.");
         try {
@@ -83,13 +119,14 @@ public class PayrollService {
             throw new IllegalStateException("Unable to validate payroll duplication.");
         }
 
-        Employee employee = employeeService().findAll().stream().filter(e -> e.getId() == employeeId).findFirst()
+        Employee employee = employeeService().findAll().stream().filter(e -> e.id() == employeeId).findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found."));
 
-        WorkDayCalculator.WorkDaySummary summary = attendanceService().computeMonthlySummary(employeeId, month, settingsService().requiredWorkDays() > 0 ? (int)Math.round(settingsService().requiredWorkDays()) : 22);
-        double computed = payrollCalculator.compute(employee.getMonthlySalary(), summary.effectiveWorkDays(), summary.requiredWorkDays());
+        WorkDayCalculator.WorkDaySummary summary = attendanceService().computeMonthlySummary(employeeId, month, requiredWorkDays(month));
+        long salaryCents = Money.toCents(employee.monthlySalary());
+        long computed = payrollCalculator.computeCents(salaryCents, summary.effectiveHalfDays(), summary.requiredHalfDays());
 
-        PayrollRecord record = new PayrollRecord(employeeId, month, employee.getMonthlySalary(),
+        PayrollRecord record = new PayrollRecord(employeeId, month, salaryCents,
                 summary.effectiveWorkDays(), summary.requiredWorkDays(), computed, PayrollRecord.Status.UNPAID)
                 .withTimestamps(null, LocalDateTime.now(), LocalDateTime.now());
         try {
@@ -100,32 +137,39 @@ public class PayrollService {
     }
 
     public int processAll(YearMonth month) {
-        if (month == null) throw new IllegalArgumentException("Month is required.");
-        List<Employee> employees = employeeService().findAll();
-        List<PayrollRecord> newRecords = new ArrayList<>();
+        return processAll(month, ProgressListener.NONE, new CancellationToken()).generated();
+    }
 
-        for (Employee employee : employees) {
-            try {
-                if (payrollRepository().findByEmployeeAndMonth(employee.getId(), month) != null) {
-                    continue;
-                }
-            } catch (SQLException ex) {
-                throw new IllegalStateException("Unable to verify existing payroll records.");
-            }
+    public PayrollRunEngine.RunResult processAll(YearMonth month, ProgressListener progress, CancellationToken token) {
+        if (AppConstants.PAYROLL_PUSH_DOWN) {
+            return runEngine().runPushDown(month, requiredWorkDays(month), progress, token);
+        }
+        return runEngine().run(month, requiredWorkDays(month), progress, token);
+    }
 
-            WorkDayCalculator.WorkDaySummary summary = attendanceService().computeMonthlySummary(employee.getId(), month, settingsService().requiredWorkDays() > 0 ? (int)Math.round(settingsService().requiredWorkDays()) : 22);
-            double computed = payrollCalculator.compute(employee.getMonthlySalary(), summary.effectiveWorkDays(), summary.requiredWorkDays());
-            PayrollRecord record = new PayrollRecord(employee.getId(), month, employee.getMonthlySalary(),
-                    summary.effectiveWorkDays(), summary.requiredWorkDays(), computed, PayrollRecord.Status.UNPAID)
-                    .withTimestamps(null, LocalDateTime.now(), LocalDateTime.now());
-            newRecords.add(record);
+    public PayrollRunEngine.RangeResult processRange(YearMonth from, YearMonth to) {
+        return processRange(from, to, RangeProgressListener.NONE, new CancellationToken());
+    }
+
+    public PayrollRunEngine.RangeResult processRange(YearMonth from, YearMonth to, RangeProgressListener progress,
+            CancellationToken token) {
+        if (AppConstants.PAYROLL_PUSH_DOWN) {
+            return runEngine().runRangePushDown(from, to, this::requiredWorkDays, progress, token);
         }
+        return runEngine().runRange(from, to, this::requiredWorkDays, progress, token);
+    }
 
-        try {
-            return payrollRepository().saveBatch(newRecords);
-        } catch (SQLException ex) {
-            throw new IllegalStateException("Unable to batch process payroll.");
+    public List<PayrollRunRepository.RunJournal> interruptedRuns() {
+        return runEngine().resumableRuns();
+    }
+
+    public int resumeInterrupted(ProgressListener progress, CancellationToken token) {
+        int generated = 0;
+        for (PayrollRunRepository.RunJournal journal : interruptedRuns()) {
+            token.throwIfCancelled();
+            generated += runEngine().run(journal.month(), journal.requiredWorkDays(), progress, token).generated();
         }
+        return generated;
     }
 
     public void markAsPaid(List<Long> payrollIds) {
@@ -154,6 +198,19 @@ public class PayrollService {
         catch (SQLException ex) { return "Unavailable"; }
     }
 
+    private int requiredWorkDays(YearMonth month) {
+        return requiredWorkDays(settingsService(), month);
+    }
+
+    static int requiredWorkDays(SettingsService settings, YearMonth month) {
+        return WORK_DAYS.requiredWorkDays(month, requiredWorkDays(settings));
+    }
+
+    static int requiredWorkDays(SettingsService settings) {
+        double configured = settings.requiredWorkDays();
+        return configured > 0 ? (int) Math.round(configured) : 22;
+    }
+
     private void pause(int attempt) {
         try {
             Thread.sleep(120L * attempt);
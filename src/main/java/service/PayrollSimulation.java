@@ -0,0 +1,134 @@
+package service;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import repository.AttendanceRepository;
+import util.Money;
+
+public final class PayrollSimulation {
+    private static final int BASIS_POINTS = 10_000;
+    private static final WorkDayCalculator WORK_DAYS = new WorkDayCalculator();
+
+    public record Scenario(int requiredWorkDays, Map<String, Integer> salaryAdjustmentBasisPoints,
+            Map<Long, AttendanceRepository.MonthlyStatusTotals> attendanceOverrides) {
+        public Scenario {
+            if (requiredWorkDays <= 0) throw new IllegalArgumentException("Required work days must be greater than zero.");
+            salaryAdjustmentBasisPoints = salaryAdjustmentBasisPoints == null ? Map.of() : Map.copyOf(salaryAdjustmentBasisPoints);
+            attendanceOverrides = attendanceOverrides == null ? Map.of() : Map.copyOf(attendanceOverrides);
+            for (int adjustment : salaryAdjustmentBasisPoints.values()) {
+                if (adjustment <= -BASIS_POINTS) throw new IllegalArgumentException("Salary adjustment must be above -100%.");
+            }
+        }
+
+        public Scenario withRequiredWorkDays(int days) {
+            return new Scenario(days, salaryAdjustmentBasisPoints, attendanceOverrides);
+        }
+
+        public Scenario withSalaryAdjustment(String position, int basisPoints) {
+            Map<String, Integer> adjustments = new HashMap<>(salaryAdjustmentBasisPoints);
+            adjustments.put(position, basisPoints);
+            return new Scenario(requiredWorkDays, adjustments, attendanceOverrides);
+        }
+
+        public Scenario withAttendance(long employeeId, AttendanceRepository.MonthlyStatusTotals totals) {
+            Map<Long, AttendanceRepository.MonthlyStatusTotals> overrides = new HashMap<>(attendanceOverrides);
+            overrides.put(employeeId, totals);
+            return new Scenario(requiredWorkDays, salaryAdjustmentBasisPoints, overrides);
+        }
+    }
+
+    public record Result(int employees, long baseSalaryCents, long computedSalaryCents,
+            Map<String, Long> computedSalaryCentsByPosition) {
+    }
+
+    private final YearMonth month;
+    private final int currentRequiredWorkDays;
+    private final long[] employeeIds;
+    private final long[] salaryCents;
+    private final int[] positionIndex;
+    private final String[] positions;
+    private final int[] effectiveHalfDays;
+    private final Map<Long, Integer> rowByEmployee;
+    private final BulkPayrollCalculator calculator = new BulkPayrollCalculator();
+    private final long[] scenarioSalaryCents;
+    private final int[] scenarioEffectiveHalfDays;
+    private final int[] scenarioRequiredHalfDays;
+    private final long[] computed;
+
+    PayrollSimulation(YearMonth month, int currentRequiredWorkDays, long[] employeeIds, long[] salaryCents,
+            int[] positionIndex, String[] positions, int[] effectiveHalfDays) {
+        this.month = month;
+        this.currentRequiredWorkDays = currentRequiredWorkDays;
+        this.employeeIds = employeeIds;
+        this.salaryCents = salaryCents;
+        this.positionIndex = positionIndex;
+        this.positions = positions;
+        this.effectiveHalfDays = effectiveHalfDays;
+        int size = employeeIds.length;
+        this.rowByEmployee = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            rowByEmployee.put(employeeIds[i], i);
+        }
+        this.scenarioSalaryCents = new long[size];
+        this.scenarioEffectiveHalfDays = new int[size];
+        this.scenarioRequiredHalfDays = new int[size];
+        this.computed = new long[size];
+    }
+
+    public YearMonth month() {
+        return month;
+    }
+
+    public int employeeCount() {
+        return employeeIds.length;
+    }
+
+    public Scenario baseline() {
+        return new Scenario(currentRequiredWorkDays, Map.of(), Map.of());
+    }
+
+    public synchronized Result simulate(Scenario scenario) {
+        int size = employeeIds.length;
+        int[] adjustmentByPosition = new int[positions.length];
+        for (int p = 0; p < positions.length; p++) {
+            adjustmentByPosition[p] = scenario.salaryAdjustmentBasisPoints().getOrDefault(positions[p], 0);
+        }
+        for (int i = 0; i < size; i++) {
+            int adjustment = adjustmentByPosition[positionIndex[i]];
+            scenarioSalaryCents[i] = adjustment == 0 ? salaryCents[i]
+                    : Money.multiplyDivide(salaryCents[i], BASIS_POINTS + adjustment, BASIS_POINTS, Money.Rounding.HALF_UP);
+        }
+        System.arraycopy(effectiveHalfDays, 0, scenarioEffectiveHalfDays, 0, size);
+        for (Map.Entry<Long, AttendanceRepository.MonthlyStatusTotals> override : scenario.attendanceOverrides().entrySet()) {
+            Integer row = rowByEmployee.get(override.getKey());
+            if (row != null) {
+                scenarioEffectiveHalfDays[row] = effectiveHalfDays(override.getValue());
+            }
+        }
+        Arrays.fill(scenarioRequiredHalfDays, 2 * scenario.requiredWorkDays());
+
+        calculator.computeCents(scenarioSalaryCents, scenarioEffectiveHalfDays, scenarioRequiredHalfDays, computed);
+
+        long base = 0L;
+        long total = 0L;
+        long[] byPosition = new long[positions.length];
+        for (int i = 0; i < size; i++) {
+            base += scenarioSalaryCents[i];
+            total += computed[i];
+            byPosition[positionIndex[i]] += computed[i];
+        }
+        Map<String, Long> positionTotals = new LinkedHashMap<>();
+        for (int p = 0; p < positions.length; p++) {
+            positionTotals.put(positions[p], byPosition[p]);
+        }
+        return new Result(size, base, total, Collections.unmodifiableMap(positionTotals));
+    }
+
+    static int effectiveHalfDays(AttendanceRepository.MonthlyStatusTotals totals) {
+        return WORK_DAYS.calculate(totals, 0).effectiveHalfDays();
+    }
+}
@@ -0,0 +1,76 @@
+package service;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Employee;
+import repository.AttendanceRepository;
+import repository.EmployeeRepository;
+import util.Money;
+
+public class PayrollSimulationService {
+    private static final AttendanceRepository.MonthlyStatusTotals NO_ATTENDANCE =
+            new AttendanceRepository.MonthlyStatusTotals(0, 0, 0, 0);
+
+    private EmployeeRepository employeeRepository;
+    private AttendanceRepository attendanceRepository;
+    private SettingsService settingsService;
+
+    public PayrollSimulationService() {
+    }
+
+    public PayrollSimulationService(SettingsService settingsService) {
+        this.settingsService = settingsService;
+    }
+
+    private EmployeeRepository employeeRepository() {
+        if (employeeRepository == null) employeeRepository = new EmployeeRepository();
+        return employeeRepository;
+    }
+
+    private AttendanceRepository attendanceRepository() {
+        if (attendanceRepository == null) attendanceRepository = new AttendanceRepository();
+        return attendanceRepository;
+    }
+
+    private SettingsService settingsService() {
+        if (settingsService == null) settingsService = new SettingsService();
+        return settingsService;
+    }
+
+    public PayrollSimulation load(YearMonth month) {
+        if (month == null) throw new IllegalArgumentException("Month is required.");
+        List<Employee> employees;
+        Map<Long, AttendanceRepository.MonthlyStatusTotals> attendance;
+        try {
+            employees = employeeRepository().findAll();
+            attendance = AttendanceIndex.getInstance().totalsForMonth(month);
+            if (attendance == null) {
+                attendance = attendanceRepository().aggregateAllByMonth(month);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to load payroll simulation data.");
+        }
+
+        int size = employees.size();
+        long[] ids = new long[size];
+        long[] salaryCents = new long[size];
+        int[] positionIndex = new int[size];
+        int[] effectiveHalfDays = new int[size];
+        Map<String, Integer> dictionary = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            ids[i] = employee.id();
+            salaryCents[i] = Money.toCents(employee.monthlySalary());
+            String position = employee.position() == null ? "" : employee.position();
+            positionIndex[i] = dictionary.computeIfAbsent(position, key -> dictionary.size());
+            effectiveHalfDays[i] = PayrollSimulation.effectiveHalfDays(attendance.getOrDefault(employee.id(), NO_ATTENDANCE));
+        }
+        String[] positions = new String[dictionary.size()];
+        dictionary.forEach((position, index) -> positions[index] = position);
+        return new PayrollSimulation(month, PayrollService.requiredWorkDays(settingsService(), month), ids, salaryCents,
+                positionIndex, positions, effectiveHalfDays);
+    }
+}
@@ -0,0 +1,9 @@
+package service;
+
+@FunctionalInterface
+public interface ProgressListener {
+    ProgressListener NONE = (completed, total) -> {
+    };
+
+    void onProgress(long completed, long total);
+}
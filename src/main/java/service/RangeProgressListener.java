@@ -0,0 +1,11 @@
+package service;
+
+import java.time.YearMonth;
+
+@FunctionalInterface
+public interface RangeProgressListener {
+    RangeProgressListener NONE = (month, completed, total) -> {
+    };
+
+    void onProgress(YearMonth month, long completed, long total);
+}
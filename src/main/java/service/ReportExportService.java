@@ -0,0 +1,127 @@
+package service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import repository.AttendanceRepository;
+import repository.PayrollRepository;
+import util.CsvChannelWriter;
+import util.Money;
+
+public class ReportExportService {
+    private static final int PROGRESS_INTERVAL = 2_000;
+
+    private PayrollRepository payrollRepository;
+    private AttendanceRepository attendanceRepository;
+
+    private PayrollRepository payrollRepository() {
+        if (payrollRepository == null) payrollRepository = new PayrollRepository();
+        return payrollRepository;
+    }
+
+    private AttendanceRepository attendanceRepository() {
+        if (attendanceRepository == null) attendanceRepository = new AttendanceRepository();
+        return attendanceRepository;
+    }
+
+    private interface ExportBody {
+        void write(CsvChannelWriter writer, long[] written) throws SQLException, IOException;
+    }
+
+    public long exportPayroll(Path destination, YearMonth from, YearMonth to,
+            ProgressListener progress, CancellationToken cancellation) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid month range is required.");
+        }
+        long total;
+        try {
+            total = payrollRepository().countByMonthRange(from, to);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to read payroll records.");
+        }
+        return export(destination, total, progress, cancellation, (writer, written) -> {
+            writer.row("employee_name", "month", "base_salary", "effective_work_days",
+                    "required_work_days", "computed_salary", "status", "processed_at");
+            payrollRepository().streamWithEmployeeNames(from, to, row -> {
+                try {
+                    writer.field(row.employeeName()).field(row.month())
+                            .field(Money.toPlainString(row.baseSalaryCents())).field(row.effectiveWorkDays())
+                            .field(row.requiredWorkDays()).field(Money.toPlainString(row.computedSalaryCents()))
+                            .field(row.status()).field(row.processedAt())
+                            .endRow();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return advance(written, total, progress, cancellation);
+            });
+        });
+    }
+
+    public long exportAttendance(Path destination, LocalDate from, LocalDate to,
+            ProgressListener progress, CancellationToken cancellation) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid date range is required.");
+        }
+        long total;
+        try {
+            total = attendanceRepository().countByDateRange(from, to);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to read attendance records.");
+        }
+        return export(destination, total, progress, cancellation, (writer, written) -> {
+            writer.row("employee_name", "date", "status");
+            attendanceRepository().streamWithEmployeeNames(from, to, row -> {
+                try {
+                    writer.row(row.employeeName(), row.date(), row.status());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return advance(written, total, progress, cancellation);
+            });
+        });
+    }
+
+    private long export(Path destination, long total, ProgressListener progress,
+            CancellationToken cancellation, ExportBody body) {
+        if (destination == null) throw new IllegalArgumentException("Export destination is required.");
+        Path temp = destination.resolveSibling(destination.getFileName() + ".part");
+        long[] written = new long[1];
+        progress.onProgress(0, total);
+        try {
+            try (CsvChannelWriter writer = new CsvChannelWriter(temp)) {
+                body.write(writer, written);
+            }
+            cancellation.throwIfCancelled();
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            progress.onProgress(written[0], total);
+            return written[0];
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalStateException("Unable to write export file.");
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to read records for export.");
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private boolean advance(long[] written, long total, ProgressListener progress, CancellationToken cancellation) {
+        long count = ++written[0];
+        if (count % PROGRESS_INTERVAL == 0) {
+            progress.onProgress(count, total);
+            TaskScheduler.getInstance().yieldToInteractive();
+        }
+        return !cancellation.isCancelled();
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
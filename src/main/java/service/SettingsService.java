@@ -3,14 +3,21 @@ package service;
 import config.ThemeManager;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import model.AppSettings;
 import repository.SettingsRepository;
 
 public class SettingsService {
+    private static final String SETTINGS_KEY = "settings";
+    private static final String TABLE_CONFIG_KEY = "table_config";
+
+    private final SettingsWriteQueue writes = SettingsWriteQueue.getInstance();
     private SettingsRepository settingsRepository;
     private AppSettings cache;
+    private String tableConfig;
+    private boolean tableConfigLoaded;
     private final List<Consumer<AppSettings>> listeners = new CopyOnWriteArrayList<>();
 
     private SettingsRepository repository() {
@@ -30,6 +37,8 @@ public class SettingsService {
     }
 
     public synchronized AppSettings getSettings() {
+        AppSettings queued = writes.pending(SETTINGS_KEY);
+        if (queued != null) return queued;
         if (cache != null) return cache;
         initialize();
         try {
@@ -44,16 +53,22 @@ public class SettingsService {
         }
     }
 
-    public synchronized AppSettings save(String companyName, double requiredWorkDays, ThemeManager.Theme theme) {
+    /**
+     * Validates and queues the settings. The future completes with the stored settings once they are in
+     * the database, and fails if the write does; change listeners run only after a successful write.
+     */
+    public CompletableFuture<AppSettings> save(String companyName, double requiredWorkDays, ThemeManager.Theme theme) {
         AppSettings settings = new AppSettings(getSettings().getId(), companyName == null ? "" : companyName.trim(), requiredWorkDays, theme);
         settings.validate();
-        try {
-            cache = repository().save(settings);
-            listeners.forEach(listener -> listener.accept(cache));
-            return cache;
-        } catch (SQLException ex) {
-            throw new IllegalStateException("Unable to save settings.");
-        }
+        return writes.put(SETTINGS_KEY, settings, repository()::save).thenApply(this::stored);
+    }
+
+    public synchronized void reload() {
+        cache = null;
+        tableConfig = null;
+        tableConfigLoaded = false;
+        AppSettings reloaded = getSettings();
+        listeners.forEach(listener -> listener.accept(reloaded));
     }
 
     public double requiredWorkDays() {
@@ -64,19 +79,39 @@ public class SettingsService {
         listeners.add(listener);
     }
 
-    public String loadTableConfig() {
+    public synchronized String loadTableConfig() {
+        String queued = writes.pending(TABLE_CONFIG_KEY);
+        if (queued != null) return queued;
+        if (tableConfigLoaded) return tableConfig;
         try {
-            return repository().loadTableConfig();
+            tableConfig = repository().loadTableConfig();
+            tableConfigLoaded = true;
+            return tableConfig;
         } catch (SQLException ex) {
             return null;
         }
     }
 
-    public void saveTableConfig(String config) {
-        try {
-            repository().saveTableConfig(config);
-        } catch (SQLException ex) {
-            throw new IllegalStateException("Unable to persist table configuration.");
+    /** Queued; the database write happens off the calling thread and the future reports its outcome. */
+    public CompletableFuture<String> saveTableConfig(String config) {
+        return writes.put(TABLE_CONFIG_KEY, config, value -> {
+            repository().saveTableConfig(value);
+            return value;
+        }).thenApply(stored -> {
+            synchronized (this) {
+                tableConfig = stored;
+                tableConfigLoaded = true;
+            }
+            return stored;
+        });
+    }
+
+    private AppSettings stored(AppSettings settings) {
+        synchronized (this) {
+            if (settings == cache) return settings;
+            cache = settings;
         }
+        listeners.forEach(listener -> listener.accept(settings));
+        return settings;
     }
 }
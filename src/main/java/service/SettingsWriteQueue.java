@@ -0,0 +1,131 @@
+package service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind queue for settings and UI preferences. Callers keep the new value in memory and hand the
+ * write here; writes to the same key within {@link #COALESCE_WINDOW} collapse into the latest one and
+ * are flushed on a background thread, and {@link #shutdown()} flushes whatever is still pending.
+ * Each {@link #put} returns a future that settles once the write reaches the database, so callers can
+ * report a failed write instead of assuming it landed.
+ */
+public final class SettingsWriteQueue {
+    private static final Logger LOGGER = Logger.getLogger(SettingsWriteQueue.class.getName());
+    private static final Duration COALESCE_WINDOW = Duration.ofMillis(500);
+
+    @FunctionalInterface
+    public interface Writer<V> {
+        /** Writes {@code value} and returns what was stored. */
+        V write(V value) throws SQLException;
+    }
+
+    private static class Holder {
+        private static final SettingsWriteQueue INSTANCE = new SettingsWriteQueue();
+    }
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "settings-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object flushLock = new Object();
+    private Map<String, Pending<?>> pending = new LinkedHashMap<>();
+    private Map<String, Pending<?>> writing = Map.of();
+    private boolean flushScheduled;
+
+    private SettingsWriteQueue() {
+    }
+
+    public static SettingsWriteQueue getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Queues {@code value} for {@code key}, replacing any value for the key that has not been written yet.
+     * The returned future completes with the stored value, or exceptionally if the write fails; a value
+     * that is replaced before it is written settles with the write that replaced it.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> CompletableFuture<V> put(String key, V value, Writer<V> writer) {
+        Pending<V> next = new Pending<>(value, writer, new CompletableFuture<>());
+        synchronized (this) {
+            Pending<V> replaced = (Pending<V>) pending.put(key, next);
+            if (replaced != null) {
+                next.done().whenComplete((stored, failure) -> {
+                    if (failure == null) {
+                        replaced.done().complete(stored);
+                    } else {
+                        replaced.done().completeExceptionally(failure);
+                    }
+                });
+            }
+            if (flushScheduled) {
+                return next.done();
+            }
+            try {
+                executor.schedule(this::flush, COALESCE_WINDOW.toMillis(), TimeUnit.MILLISECONDS);
+                flushScheduled = true;
+                return next.done();
+            } catch (RejectedExecutionException ex) {
+                // Already shut down; write on the caller's thread instead.
+            }
+        }
+        flush();
+        return next.done();
+    }
+
+    /** The latest value queued for {@code key} that may not be in the database yet, or {@code null}. */
+    @SuppressWarnings("unchecked")
+    public synchronized <V> V pending(String key) {
+        Pending<?> latest = pending.containsKey(key) ? pending.get(key) : writing.get(key);
+        return latest == null ? null : (V) latest.value();
+    }
+
+    /** Writes everything queued so far on the calling thread. */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, Pending<?>> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                writing = batch;
+                flushScheduled = false;
+            }
+            try {
+                batch.forEach((key, write) -> {
+                    try {
+                        write.apply();
+                    } catch (SQLException | RuntimeException ex) {
+                        LOGGER.log(Level.WARNING, "Unable to write setting " + key + ".", ex);
+                        write.done().completeExceptionally(ex);
+                    }
+                });
+            } finally {
+                synchronized (this) {
+                    writing = Map.of();
+                }
+            }
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        flush();
+    }
+
+    private record Pending<V>(V value, Writer<V> writer, CompletableFuture<V> done) {
+        private void apply() throws SQLException {
+            done.complete(writer.write(value));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs background work in two lanes. Interactive tasks (searches, month switches, single-record edits)
+ * have their own threads and never queue behind batch work. Batch tasks (imports, exports, payroll runs,
+ * backups) share a small low-priority pool and call {@link #yieldToInteractive()} between chunks, which
+ * pauses them briefly while interactive tasks are waiting or running.
+ */
+public final class TaskScheduler {
+    public enum Lane {
+        INTERACTIVE,
+        BATCH
+    }
+
+    private static final int INTERACTIVE_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int BATCH_THREADS = 2;
+    private static final Duration MAX_YIELD = Duration.ofMillis(100);
+    private static final ThreadLocal<Lane> CURRENT_LANE = new ThreadLocal<>();
+
+    private static class Holder {
+        private static final TaskScheduler INSTANCE = new TaskScheduler();
+    }
+
+    private final ExecutorService interactive = pool("interactive-task", INTERACTIVE_THREADS, Thread.NORM_PRIORITY);
+    private final ExecutorService batch = pool("batch-task", BATCH_THREADS, Thread.MIN_PRIORITY);
+    private final AtomicInteger interactivePending = new AtomicInteger();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition interactiveIdle = idleLock.newCondition();
+
+    private TaskScheduler() {
+    }
+
+    public static TaskScheduler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public <T> CompletableFuture<T> supply(Lane lane, Supplier<T> task) {
+        if (lane == Lane.INTERACTIVE) {
+            interactivePending.incrementAndGet();
+            try {
+                return CompletableFuture.supplyAsync(() -> runIn(lane, task), interactive)
+                        .whenComplete((value, ex) -> interactiveDone());
+            } catch (RuntimeException ex) {
+                interactiveDone();
+                throw ex;
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> runIn(lane, task), batch);
+    }
+
+    public CompletableFuture<Void> run(Lane lane, Runnable task) {
+        return supply(lane, () -> {
+            task.run();
+            return (Void) null;
+        });
+    }
+
+    /**
+     * Called by long-running work between chunks. Waits up to {@link #MAX_YIELD} while interactive tasks
+     * are queued or running; returns at once on interactive threads or when nothing interactive is pending.
+     */
+    public void yieldToInteractive() {
+        if (CURRENT_LANE.get() == Lane.INTERACTIVE || interactivePending.get() == 0) {
+            return;
+        }
+        long remaining = MAX_YIELD.toNanos();
+        idleLock.lock();
+        try {
+            while (interactivePending.get() > 0 && remaining > 0) {
+                remaining = interactiveIdle.awaitNanos(remaining);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        interactive.shutdown();
+        batch.shutdown();
+    }
+
+    private void interactiveDone() {
+        if (interactivePending.decrementAndGet() == 0) {
+            idleLock.lock();
+            try {
+                interactiveIdle.signalAll();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    private static <T> T runIn(Lane lane, Supplier<T> task) {
+        CURRENT_LANE.set(lane);
+        try {
+            return task.get();
+        } finally {
+            CURRENT_LANE.remove();
+        }
+    }
+
+    private static ExecutorService pool(String name, int threads, int priority) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(priority);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,205 @@
+package service;
+
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import repository.WorkCalendarRepository;
+
+public final class WorkCalendarService {
+    private static final int FIRST_CACHED_YEAR = 1900;
+    private static final int CACHED_YEARS = 400;
+    private static final long COMPUTED = 1L << 63;
+    private static final long MASK_BITS = (1L << 31) - 1;
+
+    private static class Holder {
+        private static final WorkCalendarService INSTANCE = new WorkCalendarService();
+    }
+
+    private record Rules(boolean configured, int restDays, Set<LocalDate> holidays, Set<MonthDay> annualHolidays,
+            AtomicLongArray months) {
+        private static final Rules NONE = new Rules(false, 0, Set.of(), Set.of(), new AtomicLongArray(0));
+    }
+
+    private final WorkCalendarRepository repository = new WorkCalendarRepository();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile Rules rules = Rules.NONE;
+
+    private WorkCalendarService() {
+    }
+
+    public static WorkCalendarService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public void initialize() throws SQLException {
+        repository.ensureSchema();
+        reload();
+    }
+
+    public void reload() throws SQLException {
+        rules = compile(repository.findAll());
+    }
+
+    public void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isConfigured() {
+        return rules.configured();
+    }
+
+    public List<WorkCalendarRepository.Definition> definitions() {
+        try {
+            return repository.findAll();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to load the work calendar.");
+        }
+    }
+
+    /** Validates the settings form's calendar fields without touching the database. */
+    public List<WorkCalendarRepository.Definition> parse(String restDays, String holidays) {
+        List<WorkCalendarRepository.Definition> definitions = new ArrayList<>();
+        Set<DayOfWeek> rest = new HashSet<>();
+        for (String token : split(restDays)) {
+            try {
+                DayOfWeek day = DayOfWeek.valueOf(token.toUpperCase(Locale.ROOT));
+                rest.add(day);
+                definitions.add(new WorkCalendarRepository.Definition(0L, WorkCalendarRepository.Kind.REST_DAY, day.name(), null));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown rest day: " + token);
+            }
+        }
+        if (rest.size() == DayOfWeek.values().length) {
+            throw new IllegalArgumentException("At least one day of the week must be a working day.");
+        }
+        for (String token : split(holidays)) {
+            definitions.add(parseHoliday(token));
+        }
+        return definitions;
+    }
+
+    public void save(List<WorkCalendarRepository.Definition> definitions) {
+        try {
+            if (keys(definitions).equals(keys(repository.findAll()))) {
+                return;
+            }
+            repository.replaceAll(definitions);
+            reload();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to save the work calendar.");
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    public String restDaysText() {
+        return join(WorkCalendarRepository.Kind.REST_DAY);
+    }
+
+    public String holidaysText() {
+        List<String> values = new ArrayList<>();
+        for (WorkCalendarRepository.Definition definition : definitions()) {
+            if (definition.kind() != WorkCalendarRepository.Kind.REST_DAY) values.add(definition.value());
+        }
+        return String.join(", ", values);
+    }
+
+    public int requiredWorkDays(YearMonth month) {
+        return (int) (lookup(month) >>> 32 & 0xFF);
+    }
+
+    public int workingDayMask(YearMonth month) {
+        return (int) (lookup(month) & MASK_BITS);
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return (workingDayMask(YearMonth.from(date)) & (1 << (date.getDayOfMonth() - 1))) != 0;
+    }
+
+    private long lookup(YearMonth month) {
+        Rules current = rules;
+        int index = (month.getYear() - FIRST_CACHED_YEAR) * 12 + month.getMonthValue() - 1;
+        if (index < 0 || index >= current.months().length()) {
+            return compute(current, month);
+        }
+        long cached = current.months().get(index);
+        if (cached == 0L) {
+            cached = compute(current, month);
+            current.months().set(index, cached);
+        }
+        return cached;
+    }
+
+    private long compute(Rules current, YearMonth month) {
+        long mask = 0L;
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            LocalDate date = month.atDay(day);
+            boolean rest = (current.restDays() & (1 << (date.getDayOfWeek().getValue() - 1))) != 0;
+            if (!rest && !current.holidays().contains(date) && !current.annualHolidays().contains(MonthDay.from(date))) {
+                mask |= 1L << (day - 1);
+            }
+        }
+        return COMPUTED | (long) Long.bitCount(mask) << 32 | mask;
+    }
+
+    private Rules compile(List<WorkCalendarRepository.Definition> definitions) {
+        int restDays = 0;
+        Set<LocalDate> holidays = new HashSet<>();
+        Set<MonthDay> annualHolidays = new HashSet<>();
+        for (WorkCalendarRepository.Definition definition : definitions) {
+            switch (definition.kind()) {
+                case REST_DAY -> restDays |= 1 << (DayOfWeek.valueOf(definition.value()).getValue() - 1);
+                case HOLIDAY -> holidays.add(LocalDate.parse(definition.value()));
+                case ANNUAL_HOLIDAY -> annualHolidays.add(MonthDay.parse("--" + definition.value()));
+            }
+        }
+        return new Rules(!definitions.isEmpty(), restDays, Set.copyOf(holidays), Set.copyOf(annualHolidays),
+                new AtomicLongArray(CACHED_YEARS * 12));
+    }
+
+    private WorkCalendarRepository.Definition parseHoliday(String token) {
+        try {
+            if (token.length() == 5) {
+                MonthDay.parse("--" + token);
+                return new WorkCalendarRepository.Definition(0L, WorkCalendarRepository.Kind.ANNUAL_HOLIDAY, token, null);
+            }
+            return new WorkCalendarRepository.Definition(0L, WorkCalendarRepository.Kind.HOLIDAY, LocalDate.parse(token).toString(), null);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Holidays must be yyyy-MM-dd or MM-dd: " + token);
+        }
+    }
+
+    private Set<String> keys(List<WorkCalendarRepository.Definition> definitions) {
+        Set<String> keys = new HashSet<>();
+        for (WorkCalendarRepository.Definition definition : definitions) {
+            keys.add(definition.kind() + ":" + definition.value());
+        }
+        return keys;
+    }
+
+    private String join(WorkCalendarRepository.Kind kind) {
+        List<String> values = new ArrayList<>();
+        for (WorkCalendarRepository.Definition definition : definitions()) {
+            if (definition.kind() == kind) values.add(definition.value());
+        }
+        return String.join(", ", values);
+    }
+
+    private List<String> split(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        for (String part : text.split("[,;\\s]+")) {
+            if (!part.isBlank()) tokens.add(part.trim());
+        }
+        return tokens;
+    }
+}
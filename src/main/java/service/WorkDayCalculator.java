@@ -1,5 +1,6 @@
 package service;
 
+import java.time.YearMonth;
 import repository.AttendanceRepository;
 
 public class WorkDayCalculator {
@@ -10,10 +11,23 @@ public class WorkDayCalculator {
             int totalHalfDays,
             double effectiveWorkDays,
             int requiredWorkDays) {
+        public int effectiveHalfDays() {
+            return 2 * (totalPresentDays + totalLateDays) + totalHalfDays;
+        }
+
+        public int requiredHalfDays() {
+            return 2 * requiredWorkDays;
+        }
+    }
+
+    public int requiredWorkDays(YearMonth month, int configuredRequiredWorkDays) {
+        WorkCalendarService calendar = WorkCalendarService.getInstance();
+        return calendar.isConfigured() ? calendar.requiredWorkDays(month) : configuredRequiredWorkDays;
     }
 
     public WorkDaySummary calculate(AttendanceRepository.MonthlyStatusTotals totals, int requiredWorkDays) {
-        double effective = totals.present() + totals.late() + (totals.halfDay() * 0.5d);
+        int halfDays = 2 * (totals.present() + totals.late()) + totals.halfDay();
+        double effective = halfDays / 2.0d;
         return new WorkDaySummary(
                 totals.present(),
                 totals.absent(),
@@ -9,41 +9,67 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import javafx.application.Platform;
 import javafx.scene.Parent;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import model.AppSettings;
 import model.AttendanceRecord;
 import model.Employee;
 import model.PayrollRecord;
+import repository.WorkCalendarRepository;
+import service.AttendanceIndex;
 import service.AttendanceService;
 import service.AuthService;
+import service.BackupSchedulerService;
+import service.CancellationToken;
+import service.DataReloadBus;
 import service.DatabaseBackupService;
+import service.DatabaseIntegrityService;
+import service.EmployeeCsvIngestionService;
 import service.EmployeeService;
+import service.PageQuery;
+import service.PayrollRecalculationService;
 import service.PayrollService;
+import service.ProgressListener;
+import service.ReportExportService;
 import service.SettingsService;
+import service.TaskScheduler;
+import service.TaskScheduler.Lane;
+import service.WorkCalendarService;
 import ui.auth.LoginView;
 import ui.auth.RegisterView;
 import ui.layout.HeaderBar;
 import ui.layout.MainWorkspace;
 import ui.layout.SideControlPanel;
+import util.AppConstants;
 import util.DialogUtil;
+import util.StartupTimeline;
 
 public class MainView {
     private static final Logger LOGGER = Logger.getLogger(MainView.class.getName());
+    private static final int EXPORT_PAGE_SIZE = 1_000;
 
     private final StackPane root;
     private final AuthService authService;
@@ -52,54 +78,192 @@ public class MainView {
     private final PayrollService payrollService;
     private final SettingsService settingsService;
     private final DatabaseBackupService backupService;
+    private final EmployeeCsvIngestionService ingestionService;
+    private final ReportExportService exportService;
 
     private MainWorkspace workspace;
     private SideControlPanel sidePanel;
     private HeaderBar headerBar;
     private Map<Long, String> employeeNameMap = Map.of();
     private final AtomicBoolean operationInProgress = new AtomicBoolean(false);
+    private final RefreshCoordinator refreshes = new RefreshCoordinator();
+    private final TaskScheduler tasks = TaskScheduler.getInstance();
+    private final CompletableFuture<Void> storageReady = new CompletableFuture<>();
+    private final AtomicBoolean storageFailureShown = new AtomicBoolean();
 
     public MainView() {
         this.root = new StackPane();
         this.authService = new AuthService();
         this.employeeService = new EmployeeService();
         this.attendanceService = new AttendanceService();
-        this.payrollService = new PayrollService();
         this.settingsService = new SettingsService();
+        this.payrollService = new PayrollService(settingsService);
         this.backupService = new DatabaseBackupService();
+        this.ingestionService = new EmployeeCsvIngestionService();
+        this.exportService = new ReportExportService();
     }
 
     public Parent createRoot() {
         root.getChildren().setAll(new Label("Loading..."));
+        DataReloadBus.getInstance().addListener(this::onDataReloaded);
         initializeAsync();
         return root;
     }
 
     private void initializeAsync() {
-        CompletableFuture.runAsync(() -> {
+        tasks.run(Lane.INTERACTIVE, () -> {
             try {
                 LOGGER.info(() -> "Initializing app storage. DB path: " + DatabaseConfig.databasePath());
                 Files.createDirectories(DatabaseConfig.dataPath());
                 authService.initialize();
-                settingsService.initialize();
-                employeeService.initialize();
-                attendanceService.initialize();
-                payrollService.initialize();
-                LOGGER.info("Storage initialization completed.");
+                StartupTimeline.mark("users table ready");
+                initializeStorageInBackground();
                 boolean registrationRequired = authService.isRegistrationRequired();
                 Platform.runLater(() -> {
                     if (registrationRequired) showRegister(); else showLogin();
+                    StartupTimeline.mark("login screen shown");
                 });
             } catch (SQLException | IOException | RuntimeException ex) {
-                LOGGER.log(Level.SEVERE, "Storage initialization failed.", ex);
-                Platform.runLater(() -> {
-                    DialogUtil.showError(window(), "Database Error", "Failed to initialize application database at: " + DatabaseConfig.databasePath());
-                    showFallback();
-                });
+                storageFailed(ex);
+            }
+        });
+    }
+
+    /**
+     * Prepares every table except {@code users} while the login screen is up. The two groups do not
+     * depend on each other; the main layout waits for both through {@link #storageReady}.
+     */
+    private void initializeStorageInBackground() {
+        CompletableFuture<Void> settings = tasks.run(Lane.INTERACTIVE, () -> {
+            settingsService.initialize();
+            try {
+                WorkCalendarService.getInstance().initialize();
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Unable to initialize the work calendar.", ex);
+            }
+            StartupTimeline.mark("settings and work calendar ready");
+        });
+        CompletableFuture<Void> records = tasks.run(Lane.INTERACTIVE, () -> {
+            employeeService.initialize();
+            attendanceService.initialize();
+            payrollService.initialize();
+            StartupTimeline.mark("employee, attendance and payroll tables ready");
+        });
+        CompletableFuture.allOf(settings, records).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                storageFailed(ex);
+                storageReady.completeExceptionally(ex);
+                return;
             }
+            LOGGER.info("Storage initialization completed.");
+            storageReady.complete(null);
+            tasks.run(Lane.BATCH, () -> {
+                try {
+                    new DatabaseIntegrityService().markSchemaCurrent();
+                } catch (SQLException versionFailure) {
+                    LOGGER.log(Level.WARNING, "Unable to record the schema version.", versionFailure);
+                }
+                startBackupScheduler();
+                startPayrollRecalculation();
+                resumeInterruptedPayrollRuns();
+                loadAttendanceIndex();
+                StartupTimeline.mark("background services started");
+            });
+        });
+    }
+
+    private void storageFailed(Throwable ex) {
+        if (!storageFailureShown.compareAndSet(false, true)) return;
+        LOGGER.log(Level.SEVERE, "Storage initialization failed.", ex);
+        Platform.runLater(() -> {
+            DialogUtil.showError(window(), "Database Error", "Failed to initialize application database at: " + DatabaseConfig.databasePath());
+            showFallback();
         });
     }
 
+    private void initializeSchemas() throws SQLException {
+        authService.initialize();
+        settingsService.initialize();
+        employeeService.initialize();
+        attendanceService.initialize();
+        payrollService.initialize();
+        WorkCalendarService.getInstance().initialize();
+        new DatabaseIntegrityService().markSchemaCurrent();
+    }
+
+    private void onDataReloaded() {
+        try {
+            initializeSchemas();
+            settingsService.reload();
+        } catch (SQLException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Schema refresh after data reload failed.", ex);
+        }
+        AttendanceIndex.getInstance().invalidate();
+        loadAttendanceIndex();
+        Platform.runLater(() -> {
+            if (workspace == null) return;
+            loadEmployeeModule();
+            workspace.getSettingsPanel().setValues(settingsService.getSettings());
+            workspace.getSettingsPanel().setCalendar(WorkCalendarService.getInstance().restDaysText(),
+                    WorkCalendarService.getInstance().holidaysText());
+            refreshAttendance(workspace.getAttendancePanel().selectedFilterEmployeeId(), workspace.getAttendancePanel().selectedMonth());
+            refreshPayroll(workspace.getPayrollPanel().selectedMonth());
+            refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
+        });
+    }
+
+    private void startPayrollRecalculation() {
+        PayrollRecalculationService recalculation = PayrollRecalculationService.getInstance();
+        recalculation.addListener(months -> Platform.runLater(() -> {
+            if (workspace == null) return;
+            YearMonth shown = workspace.getPayrollPanel().selectedMonth();
+            if (months.contains(shown)) {
+                refreshPayroll(shown);
+            }
+        }));
+        recalculation.start(settingsService);
+    }
+
+    private void loadAttendanceIndex() {
+        tasks.run(Lane.BATCH, () -> {
+            try {
+                AttendanceIndex.getInstance().load();
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Unable to load the attendance index.", ex);
+            }
+        }).exceptionally(ex -> {
+            LOGGER.log(Level.WARNING, "Attendance index unavailable; summaries will be read from the database.", ex);
+            return null;
+        });
+    }
+
+    private void resumeInterruptedPayrollRuns() {
+        tasks.run(Lane.BATCH, () -> {
+            if (payrollService.interruptedRuns().isEmpty()) return;
+            int generated = payrollService.resumeInterrupted(ProgressListener.NONE, new CancellationToken());
+            LOGGER.info(() -> "Resumed interrupted payroll run(s); generated " + generated + " record(s).");
+            Platform.runLater(() -> {
+                if (workspace == null) return;
+                refreshPayroll(workspace.getPayrollPanel().selectedMonth());
+                refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
+            });
+        }).exceptionally(ex -> {
+            LOGGER.log(Level.WARNING, "Interrupted payroll runs could not be resumed.", ex);
+            return null;
+        });
+    }
+
+    private void startBackupScheduler() {
+        try {
+            BackupSchedulerService.getInstance().start(DatabaseConfig.backupPath(), new BackupSchedulerService.Schedule(
+                    Duration.ofHours(AppConstants.BACKUP_INTERVAL_HOURS),
+                    AppConstants.BACKUP_GENERATIONS,
+                    AppConstants.BACKUP_MAX_BYTES_PER_SECOND));
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Backup scheduler could not be started.", ex);
+        }
+    }
+
     private void showRegister() {
         RegisterView registerView = new RegisterView();
         root.getChildren().setAll(registerView.create(request -> {
@@ -121,7 +285,7 @@ public class MainView {
             try {
                 if (authService.login(username, password)) {
                     DialogUtil.showSuccess(window(), "Login Successful", "Welcome to PayrollSystemFX.");
-                    showApplicationLayout();
+                    showApplicationLayoutWhenReady();
                 } else {
                     DialogUtil.showError(window(), "Login Failed", "Invalid username or password.");
                 }
@@ -131,6 +295,13 @@ public class MainView {
         }));
     }
 
+    private void showApplicationLayoutWhenReady() {
+        if (!storageReady.isDone()) {
+            root.getChildren().setAll(new Label("Loading..."));
+        }
+        storageReady.thenRun(() -> Platform.runLater(this::showApplicationLayout));
+    }
+
     private void showApplicationLayout() {
         headerBar = new HeaderBar(() -> {
             authService.logout();
@@ -159,26 +330,11 @@ public class MainView {
         headerBar.setCompanyName(settings.getCompanyName());
         ThemeManager.applyTheme(root.getScene(), settings.getTheme());
         refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
+        StartupTimeline.mark("main layout shown");
     }
 
     private void wireEmployeeModule() {
-        CompletableFuture.runAsync(() -> {
-            try {
-                LOGGER.fine("Loading employee module data.");
-                List<Employee> data = employeeService.findAll();
-                Map<Long, String> map = toNameMap(data);
-                Platform.runLater(() -> {
-                    workspace.getEmployeePanel().setData(data);
-                    employeeNameMap = map;
-                    sidePanel.setAttendanceEmployeeOptions(employeeNameMap);
-                    workspace.getAttendancePanel().setEmployeeOptions(employeeNameMap);
-                    workspace.setEmployeeFilterOptions(employeeService.listPositions());
-                });
-            } catch (IllegalStateException ex) {
-                LOGGER.log(Level.WARNING, "Employee module load failed.", ex);
-                Platform.runLater(() -> DialogUtil.showError(window(), "Employee Module", ex.getMessage()));
-            }
-        });
+        loadEmployeeModule();
 
         workspace.getEmployeePanel().onSelectionChanged(selected -> {
             if (sidePanel.getMode() == SideControlPanel.Mode.EMPLOYEE) {
@@ -189,8 +345,8 @@ public class MainView {
 
         workspace.setEmployeeQueryHandler(query -> {
             if (sidePanel.getMode() != SideControlPanel.Mode.EMPLOYEE) return;
-            CompletableFuture.supplyAsync(() -> employeeService.filterAndSort(query.keyword(), query.positionFilter(), query.sortKey()))
-                    .thenAccept(results -> Platform.runLater(() -> workspace.getEmployeePanel().setData(results)))
+            showQuery("employees", employeeService.pages(query.keyword(), query.positionFilter(), query.sortKey()),
+                    workspace.getEmployeePanel()::setQuery)
                     .exceptionally(ex -> {
                         Platform.runLater(() -> DialogUtil.showError(window(), "Search", "Unable to perform employee search."));
                         return null;
@@ -198,40 +354,55 @@ public class MainView {
         });
     }
 
-    private void wireAttendanceModule() {
-        CompletableFuture.runAsync(() -> {
+    /** Shows the first employee page at once; the name map and position list follow in the background. */
+    private void loadEmployeeModule() {
+        showAllEmployees();
+        tasks.run(Lane.INTERACTIVE, () -> {
             try {
-                LOGGER.fine("Loading attendance module data.");
-                List<AttendanceRecord> monthData = attendanceService.findByMonth(YearMonth.now());
-                Platform.runLater(() -> workspace.getAttendancePanel().setRows(monthData, employeeNameMap));
+                LOGGER.fine("Loading employee module data.");
+                List<Employee> data = employeeService.findAll();
+                Map<Long, String> map = toNameMap(data);
+                List<String> positions = employeeService.listPositions();
+                Platform.runLater(() -> {
+                    employeeNameMap = map;
+                    sidePanel.setAttendanceEmployeeOptions(employeeNameMap);
+                    workspace.getAttendancePanel().setEmployeeOptions(employeeNameMap);
+                    workspace.getPayrollPanel().setEmployeeNames(employeeNameMap);
+                    workspace.setEmployeeFilterOptions(positions);
+                    StartupTimeline.mark("employee names loaded");
+                });
             } catch (IllegalStateException ex) {
-                LOGGER.log(Level.WARNING, "Attendance module load failed.", ex);
-                Platform.runLater(() -> DialogUtil.showError(window(), "Attendance Module", ex.getMessage()));
+                LOGGER.log(Level.WARNING, "Employee module load failed.", ex);
+                Platform.runLater(() -> DialogUtil.showError(window(), "Employee Module", ex.getMessage()));
             }
         });
+    }
+
+    private void showAllEmployees() {
+        showQuery("employees", employeeService.pages("", "", null), workspace.getEmployeePanel()::setQuery)
+                .thenRun(() -> StartupTimeline.finish("first employee page shown"))
+                .exceptionally(ex -> {
+                    LOGGER.log(Level.WARNING, "Employee module load failed.", ex);
+                    Platform.runLater(() -> DialogUtil.showError(window(), "Employee Module", rootCauseMessage(ex)));
+                    return null;
+                });
+    }
 
+    private void wireAttendanceModule() {
         workspace.getAttendancePanel().onSelectionChanged(selected -> {
             if (sidePanel.getMode() == SideControlPanel.Mode.ATTENDANCE) {
                 sidePanel.setSelectionAvailable(selected != null);
-                if (selected != null) sidePanel.fillAttendance(selected.getEmployeeId(), selected.getDate(), selected.getStatus());
+                if (selected != null) sidePanel.fillAttendance(selected.employeeId(), selected.date(), selected.status());
             }
         });
 
-        workspace.getAttendancePanel().onFilterChanged(filter -> refreshAttendance(filter.employeeId(), filter.month()));
+        workspace.getAttendancePanel().onFilterChanged(filter -> {
+            // Hidden tab: the refresh happens when it is opened.
+            if (sidePanel.getMode() == SideControlPanel.Mode.ATTENDANCE) refreshAttendance(filter.employeeId(), filter.month());
+        });
     }
 
     private void wirePayrollModule() {
-        CompletableFuture.runAsync(() -> {
-            try {
-                LOGGER.fine("Loading payroll module data.");
-                List<PayrollRecord> rows = payrollService.findByMonth(workspace.getPayrollPanel().selectedMonth());
-                Platform.runLater(() -> workspace.getPayrollPanel().setRows(rows, employeeNameMap));
-            } catch (IllegalStateException ex) {
-                LOGGER.log(Level.WARNING, "Payroll module load failed.", ex);
-                Platform.runLater(() -> DialogUtil.showError(window(), "Payroll Module", ex.getMessage()));
-            }
-        });
-
         workspace.getPayrollPanel().onFilterChanged(req -> {
             refreshPayroll(req.month());
             refreshDashboardAsync(req.month());
@@ -246,39 +417,84 @@ public class MainView {
         var settingsPanel = workspace.getSettingsPanel();
         AppSettings settings = settingsService.getSettings();
         settingsPanel.setValues(settings);
+        settingsPanel.setCalendar(WorkCalendarService.getInstance().restDaysText(), WorkCalendarService.getInstance().holidaysText());
         settingsService.addChangeListener(updated -> Platform.runLater(() -> {
             headerBar.setCompanyName(updated.getCompanyName());
             if (root.getScene() != null) ThemeManager.applyTheme(root.getScene(), updated.getTheme());
         }));
 
-        Parent settingsContent = settingsPanel.createView(request -> {
+        workspace.setSettingsContent(() -> settingsPanel.createView(request -> {
+            double workDays;
+            List<WorkCalendarRepository.Definition> calendar;
             try {
-                double workDays = Double.parseDouble(request.requiredWorkDays());
-                AppSettings updated = settingsService.save(request.companyName(), workDays, request.theme());
-                ThemeManager.applyTheme(root.getScene(), updated.getTheme());
-                headerBar.setCompanyName(updated.getCompanyName());
-                DialogUtil.showSuccess(window(), "Settings", "Settings saved successfully.");
+                workDays = Double.parseDouble(request.requiredWorkDays());
+                calendar = WorkCalendarService.getInstance().parse(request.restDays(), request.holidays());
             } catch (NumberFormatException ex) {
                 DialogUtil.showWarning(window(), "Settings", "Required work days must be a valid number.");
-            } catch (RuntimeException ex) {
+                return;
+            } catch (IllegalArgumentException ex) {
                 DialogUtil.showError(window(), "Settings", ex.getMessage());
+                return;
             }
-        }, this::runBackup, this::runRestore);
-        workspace.setSettingsContent(settingsContent);
+            if (!beginUiOperation()) return;
+            tasks.supply(Lane.INTERACTIVE, () -> {
+                        CompletableFuture<AppSettings> saved = settingsService.save(request.companyName(), workDays, request.theme());
+                        WorkCalendarService.getInstance().save(calendar);
+                        return saved;
+                    })
+                    .thenCompose(saved -> saved)
+                    .thenAccept(updated -> Platform.runLater(() -> {
+                        ThemeManager.applyTheme(root.getScene(), updated.getTheme());
+                        headerBar.setCompanyName(updated.getCompanyName());
+                        DialogUtil.showSuccess(window(), "Settings", "Settings saved successfully.");
+                    }))
+                    .exceptionally(ex -> { Platform.runLater(() -> DialogUtil.showError(window(), "Settings", rootCauseMessage(ex))); return null; })
+                    .whenComplete((ignore, ex) -> endUiOperation());
+        }, this::runBackup, this::runRestore));
     }
 
     private void runBackup() {
+        var kind = DialogUtil.showChoice(window(), "Backup Database", "Backup type:", List.of(BackupKind.values()), BackupKind.FULL);
+        if (kind.isEmpty()) return;
+        if (kind.get() == BackupKind.DIFFERENTIAL) {
+            runDifferentialBackup();
+            return;
+        }
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Backup Database");
         chooser.setInitialFileName("payroll-backup.db");
         var file = chooser.showSaveDialog(window());
         if (file == null) return;
-        CompletableFuture.runAsync(() -> backupService.backupTo(file.toPath()))
+        headerBar.showTaskProgress("Backing up", 0, null);
+        tasks.run(Lane.BATCH, () -> backupService.backupTo(file.toPath(), backupProgress("Backing up")))
                 .thenRun(() -> Platform.runLater(() -> DialogUtil.showSuccess(window(), "Backup", "Database backup completed.")))
                 .exceptionally(ex -> {
                     Platform.runLater(() -> DialogUtil.showError(window(), "Backup", rootCauseMessage(ex)));
                     return null;
-                });
+                })
+                .whenComplete((ignore, ex) -> Platform.runLater(headerBar::hideTaskProgress));
+    }
+
+    private void runDifferentialBackup() {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Differential Backup Folder");
+        var directory = chooser.showDialog(window());
+        if (directory == null) return;
+        headerBar.showTaskProgress("Hashing chunks", 0, null);
+        tasks.supply(Lane.BATCH, () -> backupService.differentialBackupTo(directory.toPath(), backupProgress("Hashing chunks")))
+                .thenAccept(result -> Platform.runLater(() -> DialogUtil.showSuccess(window(), "Backup",
+                        "Differential backup completed. Stored " + result.storedChunks() + " of " + result.totalChunks()
+                                + " chunk(s) in " + result.manifest().getFileName() + ".")))
+                .exceptionally(ex -> {
+                    Platform.runLater(() -> DialogUtil.showError(window(), "Backup", rootCauseMessage(ex)));
+                    return null;
+                })
+                .whenComplete((ignore, ex) -> Platform.runLater(headerBar::hideTaskProgress));
+    }
+
+    private ProgressListener backupProgress(String label) {
+        return (done, total) -> Platform.runLater(
+                () -> headerBar.showTaskProgress(label, total <= 0 ? ProgressBar.INDETERMINATE_PROGRESS : (double) done / total, null));
     }
 
     private void runRestore() {
@@ -287,18 +503,21 @@ public class MainView {
 
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Restore Database");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Database Backups", "*.db", "*.db.gz"),
+                new FileChooser.ExtensionFilter("Differential Manifests", "*.manifest"),
+                new FileChooser.ExtensionFilter("All Files", "*.*"));
         var file = chooser.showOpenDialog(window());
         if (file == null) return;
 
-        CompletableFuture.runAsync(() -> backupService.restoreFrom(Path.of(file.toURI())))
-                .thenRun(() -> Platform.runLater(() -> {
-                    DialogUtil.showSuccess(window(), "Restore", "Database restored. Reinitializing views.");
-                    showApplicationLayout();
-                }))
+        headerBar.showTaskProgress("Validating backup", -1, null);
+        tasks.run(Lane.BATCH, () -> backupService.restoreFrom(Path.of(file.toURI())))
+                .thenRun(() -> Platform.runLater(() -> DialogUtil.showSuccess(window(), "Restore", "Database restored and views reloaded.")))
                 .exceptionally(ex -> {
                     Platform.runLater(() -> DialogUtil.showError(window(), "Restore", rootCauseMessage(ex)));
                     return null;
-                });
+                })
+                .whenComplete((ignore, ex) -> Platform.runLater(headerBar::hideTaskProgress));
     }
 
     private void wireActionHandlers() {
@@ -329,11 +548,10 @@ public class MainView {
                 }
             }
             @Override public void onExport() {
-                if (sidePanel.getMode() == SideControlPanel.Mode.EMPLOYEE) {
-                    exportEmployees();
-                } else {
-                    DialogUtil.showWarning(window(), "Export", "Export is currently available for employees only.");
-                }
+                if (sidePanel.getMode() == SideControlPanel.Mode.EMPLOYEE) exportEmployees();
+                else if (sidePanel.getMode() == SideControlPanel.Mode.ATTENDANCE) exportAttendance();
+                else if (sidePanel.getMode() == SideControlPanel.Mode.PAYROLL) exportPayroll();
+                else DialogUtil.showWarning(window(), "Export", "Export is not available for settings.");
             }
         });
     }
@@ -359,14 +577,16 @@ public class MainView {
 
     private void addEmployee() {
         if (!beginUiOperation()) return;
-        CompletableFuture.supplyAsync(() -> employeeService.create(sidePanel.getFullNameInput(), sidePanel.getPositionInput(), sidePanel.getMonthlySalaryInput()))
-                .thenAccept(saved -> Platform.runLater(() -> {
+        tasks.supply(Lane.INTERACTIVE, () -> withPositions(employeeService.create(sidePanel.getFullNameInput(), sidePanel.getPositionInput(), sidePanel.getMonthlySalaryInput())))
+                .thenAccept(change -> Platform.runLater(() -> {
+                    Employee saved = change.value();
                     workspace.getEmployeePanel().addEmployee(saved);
                     employeeNameMap = new LinkedHashMap<>(employeeNameMap);
-                    employeeNameMap.put(saved.getId(), saved.getFullName());
+                    employeeNameMap.put(saved.id(), saved.fullName());
                     sidePanel.setAttendanceEmployeeOptions(employeeNameMap);
                     workspace.getAttendancePanel().setEmployeeOptions(employeeNameMap);
-                    workspace.setEmployeeFilterOptions(employeeService.listPositions());
+                    workspace.getPayrollPanel().setEmployeeNames(employeeNameMap);
+                    workspace.setEmployeeFilterOptions(change.positions());
                     sidePanel.clearForm();
                     refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
                     DialogUtil.showSuccess(window(), "Employee", "Employee added successfully.");
@@ -378,14 +598,16 @@ public class MainView {
     private void editEmployee(boolean editMode) {
         if (!editMode) {
             Employee selected = workspace.getEmployeePanel().getSelectedEmployee();
-            CompletableFuture.supplyAsync(() -> employeeService.update(selected, sidePanel.getFullNameInput(), sidePanel.getPositionInput(), sidePanel.getMonthlySalaryInput()))
-                    .thenAccept(updated -> Platform.runLater(() -> {
+            tasks.supply(Lane.INTERACTIVE, () -> withPositions(employeeService.update(selected, sidePanel.getFullNameInput(), sidePanel.getPositionInput(), sidePanel.getMonthlySalaryInput())))
+                    .thenAccept(change -> Platform.runLater(() -> {
+                        Employee updated = change.value();
                         workspace.getEmployeePanel().updateEmployee(updated);
                         employeeNameMap = new LinkedHashMap<>(employeeNameMap);
-                        employeeNameMap.put(updated.getId(), updated.getFullName());
+                        employeeNameMap.put(updated.id(), updated.fullName());
                         sidePanel.setAttendanceEmployeeOptions(employeeNameMap);
                         workspace.getAttendancePanel().setEmployeeOptions(employeeNameMap);
-                        workspace.setEmployeeFilterOptions(employeeService.listPositions());
+                        workspace.getPayrollPanel().setEmployeeNames(employeeNameMap);
+                        workspace.setEmployeeFilterOptions(change.positions());
                         sidePanel.clearForm();
                         DialogUtil.showSuccess(window(), "Employee", "Employee updated successfully.");
                     }))
@@ -401,31 +623,38 @@ public class MainView {
     }
 
     private void deleteEmployees() {
-        List<Long> ids = workspace.getEmployeePanel().getSelectedEmployees().stream().map(Employee::getId).toList();
-        if (ids.isEmpty()) { DialogUtil.showWarning(window(), "Employee", "Select at least one employee to delete."); return; }
+        if (workspace.getEmployeePanel().selectedCount() == 0) { DialogUtil.showWarning(window(), "Employee", "Select at least one employee to delete."); return; }
 
         if (!beginUiOperation()) return;
-        CompletableFuture.supplyAsync(() -> employeeService.deleteBatch(ids))
-                .thenAccept(affected -> Platform.runLater(() -> {
-                    workspace.getEmployeePanel().removeEmployees(ids);
-                    employeeNameMap = new LinkedHashMap<>(employeeNameMap);
-                    ids.forEach(employeeNameMap::remove);
-                    sidePanel.setAttendanceEmployeeOptions(employeeNameMap);
-                    workspace.getAttendancePanel().setEmployeeOptions(employeeNameMap);
-                    workspace.setEmployeeFilterOptions(employeeService.listPositions());
-                    sidePanel.clearForm();
-                    refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
-                    DialogUtil.showSuccess(window(), "Employee", "Deleted " + affected + " employee(s).");
-                }))
+        workspace.getEmployeePanel().getSelectedEmployees()
+                .thenApply(selected -> selected.stream().map(Employee::id).toList())
+                .thenCompose(ids -> tasks.supply(Lane.INTERACTIVE, () -> withPositions(employeeService.deleteBatch(ids)))
+                        .thenAccept(change -> Platform.runLater(() -> {
+                            workspace.getEmployeePanel().removeEmployees(ids);
+                            employeeNameMap = new LinkedHashMap<>(employeeNameMap);
+                            ids.forEach(employeeNameMap::remove);
+                            sidePanel.setAttendanceEmployeeOptions(employeeNameMap);
+                            workspace.getAttendancePanel().setEmployeeOptions(employeeNameMap);
+                            workspace.getPayrollPanel().setEmployeeNames(employeeNameMap);
+                            workspace.setEmployeeFilterOptions(change.positions());
+                            sidePanel.clearForm();
+                            refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
+                            DialogUtil.showSuccess(window(), "Employee", "Deleted " + change.value() + " employee(s).");
+                        })))
                 .exceptionally(ex -> { Platform.runLater(() -> DialogUtil.showError(window(), "Employee", rootCauseMessage(ex))); return null; })
                 .whenComplete((ignore, ex) -> endUiOperation());
     }
 
+    /** Reads the position list on the write's own lane, so the FX thread only applies it. */
+    private <T> EmployeeChange<T> withPositions(T value) {
+        return new EmployeeChange<>(value, employeeService.listPositions());
+    }
+
     private void addAttendance() {
         if (!beginUiOperation()) return;
-        CompletableFuture.supplyAsync(() -> attendanceService.create(sidePanel.getAttendanceEmployeeIdInput(), sidePanel.getAttendanceDateInput(), sidePanel.getAttendanceStatusInput()))
+        tasks.supply(Lane.INTERACTIVE, () -> attendanceService.create(sidePanel.getAttendanceEmployeeIdInput(), sidePanel.getAttendanceDateInput(), sidePanel.getAttendanceStatusInput()))
                 .thenAccept(saved -> Platform.runLater(() -> {
-                    workspace.getAttendancePanel().addRow(saved, employeeNameMap.getOrDefault(saved.getEmployeeId(), "Unknown"));
+                    workspace.getAttendancePanel().addRow(saved);
                     sidePanel.clearForm();
                     DialogUtil.showSuccess(window(), "Attendance", "Attendance record added.");
                 }))
@@ -436,9 +665,9 @@ public class MainView {
     private void editAttendance(boolean editMode) {
         if (!editMode) {
             AttendanceRecord selected = workspace.getAttendancePanel().getSelectedRecord();
-            CompletableFuture.supplyAsync(() -> attendanceService.update(selected, sidePanel.getAttendanceEmployeeIdInput(), sidePanel.getAttendanceDateInput(), sidePanel.getAttendanceStatusInput()))
+            tasks.supply(Lane.INTERACTIVE, () -> attendanceService.update(selected, sidePanel.getAttendanceEmployeeIdInput(), sidePanel.getAttendanceDateInput(), sidePanel.getAttendanceStatusInput()))
                     .thenAccept(updated -> Platform.runLater(() -> {
-                        workspace.getAttendancePanel().updateRow(updated, employeeNameMap.getOrDefault(updated.getEmployeeId(), "Unknown"));
+                        workspace.getAttendancePanel().updateRow(updated);
                         sidePanel.clearForm();
                         DialogUtil.showSuccess(window(), "Attendance", "Attendance record updated.");
                     }))
@@ -446,21 +675,22 @@ public class MainView {
         } else {
             AttendanceRecord selected = workspace.getAttendancePanel().getSelectedRecord();
             if (selected == null) { DialogUtil.showWarning(window(), "Attendance", "Select a record before editing."); return; }
-            sidePanel.fillAttendance(selected.getEmployeeId(), selected.getDate(), selected.getStatus());
+            sidePanel.fillAttendance(selected.employeeId(), selected.date(), selected.status());
         }
     }
 
     private void deleteAttendance() {
-        List<Long> ids = workspace.getAttendancePanel().getSelectedRecords().stream().map(AttendanceRecord::getId).toList();
-        if (ids.isEmpty()) { DialogUtil.showWarning(window(), "Attendance", "Select at least one record to delete."); return; }
+        if (workspace.getAttendancePanel().selectedCount() == 0) { DialogUtil.showWarning(window(), "Attendance", "Select at least one record to delete."); return; }
 
         if (!beginUiOperation()) return;
-        CompletableFuture.supplyAsync(() -> attendanceService.deleteBatch(ids))
-                .thenAccept(affected -> Platform.runLater(() -> {
-                    workspace.getAttendancePanel().removeRows(ids);
-                    sidePanel.clearForm();
-                    DialogUtil.showSuccess(window(), "Attendance", "Deleted " + affected + " attendance record(s).");
-                }))
+        workspace.getAttendancePanel().getSelectedRecords()
+                .thenApply(selected -> selected.stream().map(AttendanceRecord::id).toList())
+                .thenCompose(ids -> tasks.supply(Lane.INTERACTIVE, () -> attendanceService.deleteBatch(ids))
+                        .thenAccept(affected -> Platform.runLater(() -> {
+                            workspace.getAttendancePanel().removeRows(ids);
+                            sidePanel.clearForm();
+                            DialogUtil.showSuccess(window(), "Attendance", "Deleted " + affected + " attendance record(s).");
+                        })))
                 .exceptionally(ex -> { Platform.runLater(() -> DialogUtil.showError(window(), "Attendance", rootCauseMessage(ex))); return null; })
                 .whenComplete((ignore, ex) -> endUiOperation());
     }
@@ -470,21 +700,41 @@ public class MainView {
         if (month == null) { DialogUtil.showWarning(window(), "Payroll", "Month is required."); return; }
 
         if (!beginUiOperation()) return;
-        CompletableFuture.supplyAsync(() -> payrollService.processAll(month))
-                .thenAccept(count -> Platform.runLater(() -> {
+        CancellationToken token = new CancellationToken();
+        var payrollPanel = workspace.getPayrollPanel();
+        payrollPanel.showRunProgress("Processing " + month, 0, token::cancel);
+        ProgressListener progress = (done, total) -> Platform.runLater(() -> payrollPanel.showRunProgress(
+                "Processing " + month + " (" + done + "/" + total + ")", total <= 0 ? 0 : (double) done / total, token::cancel));
+        tasks.supply(Lane.BATCH, () -> payrollService.processAll(month, progress, token))
+                .thenAccept(result -> Platform.runLater(() -> {
                     refreshPayroll(month);
                     refreshDashboardAsync(month);
-                    DialogUtil.showSuccess(window(), "Payroll", "Processed payroll for " + count + " employee(s).");
+                    DialogUtil.showSuccess(window(), "Payroll", "Processed payroll for " + result.generated() + " employee(s).");
                 }))
-                .exceptionally(ex -> { Platform.runLater(() -> DialogUtil.showWarning(window(), "Payroll", rootCauseMessage(ex))); return null; })
-                .whenComplete((ignore, ex) -> endUiOperation());
+                .exceptionally(ex -> {
+                    Platform.runLater(() -> {
+                        if (token.isCancelled() || ex.getCause() instanceof CancellationException) {
+                            refreshPayroll(month);
+                            refreshDashboardAsync(month);
+                            DialogUtil.showWarning(window(), "Payroll", "Payroll run cancelled. Records already written were kept.");
+                        } else {
+                            DialogUtil.showWarning(window(), "Payroll", rootCauseMessage(ex));
+                        }
+                    });
+                    return null;
+                })
+                .whenComplete((ignore, ex) -> {
+                    Platform.runLater(payrollPanel::hideRunProgress);
+                    endUiOperation();
+                });
     }
 
     private void markPayrollPaid() {
-        List<Long> ids = workspace.getPayrollPanel().getSelectedRecords().stream().map(PayrollRecord::getId).toList();
-        if (ids.isEmpty()) { DialogUtil.showWarning(window(), "Payroll", "Select payroll records first."); return; }
+        if (workspace.getPayrollPanel().selectedCount() == 0) { DialogUtil.showWarning(window(), "Payroll", "Select payroll records first."); return; }
         if (!beginUiOperation()) return;
-        CompletableFuture.runAsync(() -> payrollService.markAsPaid(ids))
+        workspace.getPayrollPanel().getSelectedRecords()
+                .thenApply(selected -> selected.stream().map(PayrollRecord::id).toList())
+                .thenCompose(ids -> tasks.run(Lane.INTERACTIVE, () -> payrollService.markAsPaid(ids)))
                 .thenRun(() -> Platform.runLater(() -> {
                     refreshPayroll(workspace.getPayrollPanel().selectedMonth());
                     refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
@@ -495,54 +745,65 @@ public class MainView {
     }
 
     private void deletePayroll() {
-        List<Long> ids = workspace.getPayrollPanel().getSelectedRecords().stream().map(PayrollRecord::getId).toList();
-        if (ids.isEmpty()) { DialogUtil.showWarning(window(), "Payroll", "Select payroll records to delete."); return; }
+        if (workspace.getPayrollPanel().selectedCount() == 0) { DialogUtil.showWarning(window(), "Payroll", "Select payroll records to delete."); return; }
 
         if (!beginUiOperation()) return;
-        CompletableFuture.supplyAsync(() -> payrollService.deleteBatch(ids))
-                .thenAccept(affected -> Platform.runLater(() -> {
-                    workspace.getPayrollPanel().removeRows(ids);
-                    refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
-                    DialogUtil.showSuccess(window(), "Payroll", "Deleted " + affected + " payroll record(s).");
-                }))
+        workspace.getPayrollPanel().getSelectedRecords()
+                .thenApply(selected -> selected.stream().map(PayrollRecord::id).toList())
+                .thenCompose(ids -> tasks.supply(Lane.INTERACTIVE, () -> payrollService.deleteBatch(ids))
+                        .thenAccept(affected -> Platform.runLater(() -> {
+                            workspace.getPayrollPanel().removeRows(ids);
+                            refreshDashboardAsync(workspace.getPayrollPanel().selectedMonth());
+                            DialogUtil.showSuccess(window(), "Payroll", "Deleted " + affected + " payroll record(s).");
+                        })))
                 .exceptionally(ex -> { Platform.runLater(() -> DialogUtil.showError(window(), "Payroll", rootCauseMessage(ex))); return null; })
                 .whenComplete((ignore, ex) -> endUiOperation());
     }
 
     private void refreshAttendance(Long employeeId, YearMonth month) {
-        CompletableFuture.supplyAsync(() -> employeeId == null
-                        ? attendanceService.findByMonth(month)
-                        : attendanceService.findByEmployeeAndMonth(employeeId, month))
-                .thenAccept(records -> Platform.runLater(() -> workspace.getAttendancePanel().setRows(records, employeeNameMap)))
+        showQuery("attendance", attendanceService.pagesByMonth(employeeId, month), workspace.getAttendancePanel()::setQuery)
+                .thenRun(() -> {
+                    if (Objects.equals(workspace.getAttendancePanel().selectedFilterEmployeeId(), employeeId)) {
+                        workspace.getAttendancePanel().prefetchAdjacent(month, adjacent -> attendanceService.pagesByMonth(employeeId, adjacent));
+                    }
+                })
                 .exceptionally(ex -> { Platform.runLater(() -> DialogUtil.showError(window(), "Attendance", "Unable to refresh attendance records.")); return null; });
     }
 
     private void refreshPayroll(YearMonth month) {
-        CompletableFuture.supplyAsync(() -> payrollService.findByMonth(month))
-                .thenAccept(records -> Platform.runLater(() -> workspace.getPayrollPanel().setRows(records, employeeNameMap)))
+        showQuery("payroll", payrollService.pagesByMonth(month), workspace.getPayrollPanel()::setQuery)
+                .thenRun(() -> workspace.getPayrollPanel().prefetchAdjacent(month, payrollService::pagesByMonth))
                 .exceptionally(ex -> { Platform.runLater(() -> DialogUtil.showError(window(), "Payroll", "Unable to refresh payroll records.")); return null; });
     }
 
+    /** Shows {@code query} in a table; requests for the same view go through {@link RefreshCoordinator}. */
+    private <T> CompletableFuture<Integer> showQuery(String view, PageQuery<T, ?> query,
+            BiFunction<PageQuery<T, ?>, CancellationToken, CompletableFuture<Integer>> table) {
+        return refreshes.request(view, query.key(), token -> table.apply(query, token), null);
+    }
+
     private void refreshDashboardAsync(YearMonth month) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                int employees = employeeService.findAll().size();
-                int processed = payrollService.countByMonth(month);
-                String recent = payrollService.recentActivity();
-                String company = settingsService.getSettings().getCompanyName();
-                Platform.runLater(() -> {
-                    headerBar.setCompanyName(company);
-                    headerBar.setTotalEmployees(employees);
-                    headerBar.setProcessedPayrollCount(processed);
-                    headerBar.setRecentActivity(recent);
-                });
-            } catch (Exception ignored) {
-            }
-        });
+        refreshes.request("dashboard", month, token -> tasks.supply(Lane.INTERACTIVE, () -> {
+            int employees = employeeService.pages("", "", null).count();
+            token.throwIfCancelled();
+            int processed = payrollService.countByMonth(month);
+            token.throwIfCancelled();
+            return new DashboardStats(employees, processed, payrollService.recentActivity(),
+                    settingsService.getSettings().getCompanyName());
+        }), stats -> {
+                    headerBar.setCompanyName(stats.company());
+                    headerBar.setTotalEmployees(stats.employees());
+                    headerBar.setProcessedPayrollCount(stats.processed());
+                    headerBar.setRecentActivity(stats.recent());
+                }).exceptionally(ex -> null);
     }
 
+    private record DashboardStats(int employees, int processed, String recent, String company) {}
+
+    private record EmployeeChange<T>(T value, List<String> positions) {}
+
     private Map<Long, String> toNameMap(List<Employee> employees) {
-        return employees.stream().collect(Collectors.toMap(Employee::getId, Employee::getFullName, (a, b) -> a, LinkedHashMap::new));
+        return employees.stream().collect(Collectors.toMap(Employee::id, Employee::fullName, (a, b) -> a, LinkedHashMap::new));
     }
 
     private String rootCauseMessage(Throwable ex) {
@@ -562,13 +823,14 @@ public class MainView {
         if (file == null) return;
 
         if (!beginUiOperation()) return;
-        CompletableFuture.supplyAsync(() -> importAndReloadEmployees(file.toPath()))
+        tasks.supply(Lane.BATCH, () -> importAndReloadEmployees(file.toPath()))
                 .thenAccept(result -> Platform.runLater(() -> {
                     employeeNameMap = toNameMap(result.rows());
-                    workspace.getEmployeePanel().setData(result.rows());
                     sidePanel.setAttendanceEmployeeOptions(employeeNameMap);
                     workspace.getAttendancePanel().setEmployeeOptions(employeeNameMap);
+                    workspace.getPayrollPanel().setEmployeeNames(employeeNameMap);
                     workspace.setEmployeeFilterOptions(result.positions());
+                    showAllEmployees();
                     DialogUtil.showSuccess(window(), "Import", "Imported: " + result.imported() + ", Skipped: " + result.skipped());
                 }))
                 .exceptionally(ex -> {
@@ -587,8 +849,8 @@ public class MainView {
         if (file == null) return;
 
         if (!beginUiOperation()) return;
-        var snapshot = workspace.getEmployeePanel().getAllEmployees();
-        CompletableFuture.runAsync(() -> exportEmployeeCsv(file.toPath(), snapshot))
+        var query = workspace.getEmployeePanel().currentQuery();
+        tasks.run(Lane.BATCH, () -> exportEmployeeCsv(file.toPath(), query == null ? employeeService.findAll() : query.readAll(EXPORT_PAGE_SIZE)))
                 .thenRun(() -> Platform.runLater(() -> DialogUtil.showSuccess(window(), "Export", "Employee export completed.")))
                 .exceptionally(ex -> {
                     Platform.runLater(() -> DialogUtil.showError(window(), "Export", rootCauseMessage(ex)));
@@ -597,6 +859,73 @@ public class MainView {
                 .whenComplete((ignore, ex) -> endUiOperation());
     }
 
+    private void exportPayroll() {
+        var scope = DialogUtil.showChoice(window(), "Export Payroll", "Months to export:", List.of(ExportScope.values()), ExportScope.SELECTED_MONTH);
+        if (scope.isEmpty()) return;
+        YearMonth anchor = workspace.getPayrollPanel().selectedMonth();
+        YearMonth from = scope.get().from(anchor);
+        YearMonth to = scope.get().to(anchor);
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Payroll (CSV)");
+        chooser.setInitialFileName(from.equals(to) ? "payroll-" + from + ".csv" : "payroll-" + from + "_" + to + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        var file = chooser.showSaveDialog(window());
+        if (file == null) return;
+
+        CancellationToken token = new CancellationToken();
+        runExport("Exporting payroll", token,
+                () -> exportService.exportPayroll(file.toPath(), from, to, headerProgress("Exporting payroll", token), token),
+                count -> "Exported " + count + " payroll record(s).");
+    }
+
+    private void exportAttendance() {
+        var scope = DialogUtil.showChoice(window(), "Export Attendance", "Months to export:", List.of(ExportScope.values()), ExportScope.SELECTED_MONTH);
+        if (scope.isEmpty()) return;
+        YearMonth anchor = workspace.getAttendancePanel().selectedMonth();
+        LocalDate from = scope.get().from(anchor).atDay(1);
+        LocalDate to = scope.get().to(anchor).atEndOfMonth();
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Attendance (CSV)");
+        chooser.setInitialFileName("attendance-" + from + "_" + to + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        var file = chooser.showSaveDialog(window());
+        if (file == null) return;
+
+        CancellationToken token = new CancellationToken();
+        runExport("Exporting attendance", token,
+                () -> exportService.exportAttendance(file.toPath(), from, to, headerProgress("Exporting attendance", token), token),
+                count -> "Exported " + count + " attendance record(s).");
+    }
+
+    private void runExport(String label, CancellationToken token, Supplier<Long> job, Function<Long, String> successMessage) {
+        if (!beginUiOperation()) return;
+        headerBar.showTaskProgress(label, 0, token::cancel);
+        tasks.supply(Lane.BATCH, job)
+                .thenAccept(count -> Platform.runLater(() -> DialogUtil.showSuccess(window(), "Export", successMessage.apply(count))))
+                .exceptionally(ex -> {
+                    if (token.isCancelled() || ex.getCause() instanceof CancellationException) {
+                        Platform.runLater(() -> DialogUtil.showWarning(window(), "Export", "Export cancelled."));
+                    } else {
+                        Platform.runLater(() -> DialogUtil.showError(window(), "Export", rootCauseMessage(ex)));
+                    }
+                    return null;
+                })
+                .whenComplete((ignore, ex) -> {
+                    endUiOperation();
+                    Platform.runLater(headerBar::hideTaskProgress);
+                });
+    }
+
+    private ProgressListener headerProgress(String label, CancellationToken token) {
+        return (completed, total) -> Platform.runLater(() -> {
+            if (!token.isCancelled()) {
+                headerBar.showTaskProgress(label, total <= 0 ? 0 : (double) completed / total, token::cancel);
+            }
+        });
+    }
+
     private ImportResult importAndReloadEmployees(Path csvPath) {
         ImportCounters counters = importEmployeeCsv(csvPath);
         List<Employee> refreshed = employeeService.findAll();
@@ -605,6 +934,10 @@ public class MainView {
     }
 
     private ImportCounters importEmployeeCsv(Path csvPath) {
+        if (isLargeImport(csvPath)) {
+            EmployeeCsvIngestionService.IngestionResult result = ingestionService.ingest(csvPath);
+            return new ImportCounters(result.imported(), result.skipped());
+        }
         int imported = 0;
         int skipped = 0;
         try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
@@ -645,16 +978,24 @@ public class MainView {
         }
     }
 
+    private boolean isLargeImport(Path csvPath) {
+        try {
+            return Files.size(csvPath) >= AppConstants.PARALLEL_IMPORT_THRESHOLD_BYTES;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
     private void exportEmployeeCsv(Path csvPath, List<Employee> rows) {
         try (BufferedWriter writer = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8)) {
             writer.write("full_name,position,monthly_salary");
             writer.newLine();
             for (Employee employee : rows) {
-                writer.write(escapeCsv(employee.getFullName()));
+                writer.write(escapeCsv(employee.fullName()));
                 writer.write(',');
-                writer.write(escapeCsv(employee.getPosition()));
+                writer.write(escapeCsv(employee.position()));
                 writer.write(',');
-                writer.write(String.valueOf(employee.getMonthlySalary()));
+                writer.write(String.valueOf(employee.monthlySalary()));
                 writer.newLine();
             }
         } catch (IOException ex) {
@@ -673,6 +1014,43 @@ public class MainView {
 
     private record ImportCounters(int imported, int skipped) {}
 
+    private enum BackupKind {
+        FULL("Full copy"),
+        DIFFERENTIAL("Differential (changed chunks only)");
+
+        private final String label;
+
+        BackupKind(String label) { this.label = label; }
+
+        @Override public String toString() { return label; }
+    }
+
+    private enum ExportScope {
+        SELECTED_MONTH("Selected month"),
+        YEAR_TO_DATE("Year to date"),
+        LAST_12_MONTHS("Last 12 months"),
+        PREVIOUS_YEAR("Previous calendar year");
+
+        private final String label;
+
+        ExportScope(String label) { this.label = label; }
+
+        YearMonth from(YearMonth anchor) {
+            return switch (this) {
+                case SELECTED_MONTH -> anchor;
+                case YEAR_TO_DATE -> anchor.withMonth(1);
+                case LAST_12_MONTHS -> anchor.minusMonths(11);
+                case PREVIOUS_YEAR -> YearMonth.of(anchor.getYear() - 1, 1);
+            };
+        }
+
+        YearMonth to(YearMonth anchor) {
+            return this == PREVIOUS_YEAR ? YearMonth.of(anchor.getYear() - 1, 12) : anchor;
+        }
+
+        @Override public String toString() { return label; }
+    }
+
     private record ImportResult(int imported, int skipped, List<Employee> rows, List<String> positions) {}
 
     private boolean beginUiOperation() {
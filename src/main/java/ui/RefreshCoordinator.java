@@ -0,0 +1,154 @@
+package ui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javafx.application.Platform;
+import service.CancellationToken;
+
+/**
+ * Serialises view refreshes so only the newest result per view is applied. A request with the same
+ * parameters as the one in flight joins a single trailing re-run instead of starting another query, and
+ * a request with different parameters supersedes whatever is queued or running: the running load's token
+ * is cancelled so it stops at its next check. Superseded requests complete with the result that replaced
+ * them. Results are applied on the FX thread, every result that arrives before the next pulse in one
+ * batch. Must be used from the FX thread.
+ */
+final class RefreshCoordinator {
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final Map<String, Finished<?>> pendingApply = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    /**
+     * Refreshes {@code view} with {@code params}. {@code start} launches the load and should stop once its
+     * token is cancelled; {@code apply}, when not null, receives its result on the FX thread unless a newer
+     * request for the view arrived meanwhile.
+     */
+    <T> CompletableFuture<T> request(String view, Object params, Function<CancellationToken, CompletableFuture<T>> start,
+            Consumer<T> apply) {
+        Slot slot = slots.computeIfAbsent(view, key -> new Slot());
+        long generation = ++slot.generation;
+        Flight<?> queued = slot.queued;
+        if (queued != null && Objects.equals(queued.params, params)) {
+            @SuppressWarnings("unchecked")
+            Flight<T> joined = (Flight<T>) queued;
+            joined.generation = generation;
+            joined.start = start;
+            joined.apply = apply;
+            return joined.result;
+        }
+        Flight<T> flight = new Flight<>(params, start, apply, generation);
+        if (queued != null) {
+            forward(queued, flight);
+            slot.queued = null;
+        }
+        Flight<?> running = slot.running;
+        if (running != null && Objects.equals(running.params, params)) {
+            // The running load may have read before the change that prompted this request; re-run once after it.
+            slot.queued = flight;
+            forward(running, flight);
+        } else {
+            if (running != null) {
+                running.token.cancel();
+                forward(running, flight);
+            }
+            launch(view, slot, flight);
+        }
+        return flight.result;
+    }
+
+    private <T> void launch(String view, Slot slot, Flight<T> flight) {
+        slot.running = flight;
+        CompletableFuture<T> task;
+        try {
+            task = flight.start.apply(flight.token);
+        } catch (RuntimeException ex) {
+            task = CompletableFuture.failedFuture(ex);
+        }
+        task.whenComplete((value, ex) -> Platform.runLater(() -> finish(view, slot, flight, value, ex)));
+    }
+
+    private <T> void finish(String view, Slot slot, Flight<T> flight, T value, Throwable ex) {
+        if (slot.running == flight) {
+            slot.running = null;
+            Flight<?> next = slot.queued;
+            if (next != null) {
+                slot.queued = null;
+                launch(view, slot, next);
+            }
+        }
+        if (flight.generation != slot.generation) {
+            return;
+        }
+        if (ex != null) {
+            flight.result.completeExceptionally(ex);
+            return;
+        }
+        Finished<?> replaced = pendingApply.put(view, new Finished<>(flight, value));
+        if (replaced != null) {
+            forward(replaced.flight, flight);
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        List<Finished<?>> batch = new ArrayList<>(pendingApply.values());
+        pendingApply.clear();
+        flushScheduled = false;
+        for (Finished<?> finished : batch) {
+            finished.apply();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void forward(Flight<?> superseded, Flight<?> replacement) {
+        CompletableFuture target = superseded.result;
+        replacement.result.whenComplete((value, ex) -> {
+            if (ex != null) {
+                target.completeExceptionally(ex);
+            } else {
+                target.complete(value);
+            }
+        });
+    }
+
+    private static final class Slot {
+        private long generation;
+        private Flight<?> running;
+        private Flight<?> queued;
+    }
+
+    private static final class Flight<T> {
+        private final Object params;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final CancellationToken token = new CancellationToken();
+        private Function<CancellationToken, CompletableFuture<T>> start;
+        private Consumer<T> apply;
+        private long generation;
+
+        private Flight(Object params, Function<CancellationToken, CompletableFuture<T>> start, Consumer<T> apply, long generation) {
+            this.params = params;
+            this.start = start;
+            this.apply = apply;
+            this.generation = generation;
+        }
+    }
+
+    private record Finished<T>(Flight<T> flight, T value) {
+        private void apply() {
+            if (flight.apply != null) {
+                flight.apply.accept(value);
+            }
+            flight.result.complete(value);
+        }
+    }
+}
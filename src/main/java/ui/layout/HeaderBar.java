@@ -5,6 +5,7 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -14,6 +15,10 @@ public class HeaderBar extends HBox {
     private final Label employeesValue = new Label("0");
     private final Label payrollValue = new Label("0");
     private final Label recentValue = new Label("Idle");
+    private final Label taskLabel = new Label();
+    private final ProgressBar taskProgress = new ProgressBar(0);
+    private final Button cancelTaskButton = new Button("Cancel");
+    private final HBox taskBox = new HBox(6, taskLabel, taskProgress, cancelTaskButton);
 
     public HeaderBar(Runnable onLogout) {
         getStyleClass().add("header-bar");
@@ -39,7 +44,14 @@ public class HeaderBar extends HBox {
         logoutButton.getStyleClass().add("secondary-button");
         logoutButton.setOnAction(event -> onLogout.run());
 
-        getChildren().addAll(title, summaryPanel, spacer, logoutButton);
+        taskBox.setAlignment(Pos.CENTER_LEFT);
+        taskBox.getStyleClass().add("summary-card");
+        taskBox.setPadding(new Insets(4, 8, 4, 8));
+        taskProgress.setPrefWidth(140);
+        cancelTaskButton.getStyleClass().add("danger-button");
+        hideTaskProgress();
+
+        getChildren().addAll(title, summaryPanel, spacer, taskBox, logoutButton);
     }
 
     public void setCompanyName(String name) { companyValue.setText(name == null || name.isBlank() ? "My Company" : name); }
@@ -47,6 +59,24 @@ public class HeaderBar extends HBox {
     public void setProcessedPayrollCount(int count) { payrollValue.setText(String.valueOf(count)); }
     public void setRecentActivity(String text) { recentValue.setText(text == null || text.isBlank() ? "Idle" : text); }
 
+    public void showTaskProgress(String label, double progress, Runnable onCancel) {
+        taskLabel.setText(label);
+        taskProgress.setProgress(progress);
+        cancelTaskButton.setDisable(onCancel == null);
+        cancelTaskButton.setOnAction(event -> {
+            cancelTaskButton.setDisable(true);
+            if (onCancel != null) onCancel.run();
+        });
+        taskBox.setManaged(true);
+        taskBox.setVisible(true);
+    }
+
+    public void hideTaskProgress() {
+        taskBox.setVisible(false);
+        taskBox.setManaged(false);
+        cancelTaskButton.setOnAction(null);
+    }
+
     private HBox summaryCard(String label, Label valueNode) {
         Label key = new Label(label + ":");
         key.getStyleClass().add("summary-key");
@@ -1,6 +1,7 @@
 package ui.layout;
 
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javafx.animation.PauseTransition;
 import javafx.geometry.Insets;
 import javafx.scene.Parent;
@@ -157,7 +158,8 @@ public class MainWorkspace extends VBox {
         if (activeTabListener != null) activeTabListener.accept(key);
     }
 
-    public void setSettingsContent(Parent settingsRoot) {
-        viewManager.register(SETTINGS, () -> settingsRoot);
+    /** The settings view is built the first time its tab is opened. */
+    public void setSettingsContent(Supplier<Parent> settingsView) {
+        viewManager.register(SETTINGS, settingsView);
     }
 }
@@ -167,9 +167,9 @@ public class SideControlPanel extends VBox {
 
     public void fillFrom(Employee employee) {
         if (employee == null) { clearForm(); return; }
-        fullNameField.setText(employee.getFullName());
-        positionField.setText(employee.getPosition());
-        monthlySalaryField.setText(String.valueOf(employee.getMonthlySalary()));
+        fullNameField.setText(employee.fullName());
+        positionField.setText(employee.position());
+        monthlySalaryField.setText(String.valueOf(employee.monthlySalary()));
     }
 
     public void fillAttendance(Long employeeId, LocalDate date, AttendanceRecord.Status status) {
@@ -1,20 +1,14 @@
 package ui.panel;
 
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import java.util.function.Function;
 import javafx.scene.Parent;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
@@ -26,38 +20,10 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import util.TableConfigurator;
 import model.AttendanceRecord;
+import service.CancellationToken;
+import service.PageQuery;
 
 public class AttendancePanel {
-    public static class AttendanceRow {
-        private final ObjectProperty<AttendanceRecord> record = new SimpleObjectProperty<>();
-        private final StringProperty employeeName = new SimpleStringProperty();
-
-        public AttendanceRow(AttendanceRecord record, String employeeName) {
-            this.record.set(record);
-            this.employeeName.set(employeeName);
-        }
-
-        public AttendanceRecord getRecord() {
-            return record.get();
-        }
-
-        public ObjectProperty<AttendanceRecord> recordProperty() {
-            return record;
-        }
-
-        public StringProperty employeeNameProperty() {
-            return employeeName;
-        }
-
-        public StringProperty dateProperty() {
-            return new SimpleStringProperty(getRecord().getDate().format(DateTimeFormatter.ISO_DATE));
-        }
-
-        public StringProperty statusProperty() {
-            return new SimpleStringProperty(getRecord().getStatus().name());
-        }
-    }
-
     public static class FilterRequest {
         private final Long employeeId;
         private final YearMonth month;
@@ -76,8 +42,10 @@ public class AttendancePanel {
         }
     }
 
-    private final ObservableList<AttendanceRow> rows = FXCollections.observableArrayList();
-    private final TableView<AttendanceRow> tableView = new TableView<>(rows);
+    private final TableView<RowView<AttendanceRecord>> tableView = new TableView<>();
+    private final PagedDataSource<RowView<AttendanceRecord>> rows = new PagedDataSource<>(tableView,
+            row -> row.record().id(), row -> row.record().updatedAt());
+    private Map<Long, String> employeeNames = Map.of();
     private final ComboBox<EmployeeOption> employeeFilter = new ComboBox<>();
     private final ComboBox<YearMonth> monthFilter = new ComboBox<>();
 
@@ -87,16 +55,19 @@ public class AttendancePanel {
 
         setupFilters();
 
-        TableColumn<AttendanceRow, String> employeeCol = new TableColumn<>("Employee Name");
-        employeeCol.setCellValueFactory(cell -> cell.getValue().employeeNameProperty());
+        TableColumn<RowView<AttendanceRecord>, String> employeeCol = new TableColumn<>("Employee Name");
+        employeeCol.setCellValueFactory(RowView.liveColumn(0,
+                record -> employeeNames.getOrDefault(record.employeeId(), "Unknown")));
 
-        TableColumn<AttendanceRow, String> dateCol = new TableColumn<>("Date");
-        dateCol.setCellValueFactory(cell -> cell.getValue().dateProperty());
+        TableColumn<RowView<AttendanceRecord>, String> dateCol = new TableColumn<>("Date");
+        dateCol.setCellValueFactory(RowView.column(1, record -> record.date().format(DateTimeFormatter.ISO_DATE)));
 
-        TableColumn<AttendanceRow, String> statusCol = new TableColumn<>("Status");
-        statusCol.setCellValueFactory(cell -> cell.getValue().statusProperty());
+        TableColumn<RowView<AttendanceRecord>, String> statusCol = new TableColumn<>("Status");
+        statusCol.setCellValueFactory(RowView.column(2, record -> record.status().name()));
 
         tableView.getColumns().setAll(employeeCol, dateCol, statusCol);
+        tableView.setItems(rows);
+        PagedDataSource.disableColumnSorting(tableView);
         tableView.setPlaceholder(new Label("No attendance data yet."));
         tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         tableView.getStyleClass().add("data-table");
@@ -120,6 +91,8 @@ public class AttendancePanel {
     }
 
     public void setEmployeeOptions(Map<Long, String> employees) {
+        employeeNames = employees;
+        tableView.refresh();
         List<EmployeeOption> options = new ArrayList<>();
         options.add(new EmployeeOption(null, "All Employees"));
         employees.forEach((id, name) -> options.add(new EmployeeOption(id, name)));
@@ -127,42 +100,54 @@ public class AttendancePanel {
         employeeFilter.getSelectionModel().selectFirst();
     }
 
-    public void setRows(List<AttendanceRecord> records, Map<Long, String> employeeNameMap) {
-        List<AttendanceRow> mapped = records.stream()
-                .map(record -> new AttendanceRow(record, employeeNameMap.getOrDefault(record.getEmployeeId(), "Unknown")))
-                .toList();
-        rows.setAll(mapped);
-    }
-
-    public void addRow(AttendanceRecord record, String employeeName) {
-        rows.add(0, new AttendanceRow(record, employeeName));
+    public CompletableFuture<Integer> setQuery(PageQuery<AttendanceRecord, ?> query, CancellationToken token) {
+        return rows.open(query.map(RowView::new), token);
     }
 
-    public void updateRow(AttendanceRecord record, String employeeName) {
-        for (int i = 0; i < rows.size(); i++) {
-            if (rows.get(i).getRecord().getId() == record.getId()) {
-                rows.set(i, new AttendanceRow(record, employeeName));
-                return;
+    /**
+     * Prefetches the filter's months on either side of {@code month} so stepping to them shows at once.
+     * Ignored when {@code month} is no longer the selected one.
+     */
+    public void prefetchAdjacent(YearMonth month, Function<YearMonth, PageQuery<AttendanceRecord, ?>> queryForMonth) {
+        if (!month.equals(selectedMonth())) {
+            return;
+        }
+        List<PageQuery<RowView<AttendanceRecord>, ?>> queries = new ArrayList<>();
+        for (YearMonth adjacent : List.of(month.minusMonths(1), month.plusMonths(1))) {
+            if (monthFilter.getItems().contains(adjacent)) {
+                queries.add(queryForMonth.apply(adjacent).map(RowView::new));
             }
         }
+        rows.prefetch(queries);
+    }
+
+    public void addRow(AttendanceRecord record) {
+        rows.refresh();
+    }
+
+    public void updateRow(AttendanceRecord record) {
+        rows.replaceLoaded(new RowView<>(record));
+        rows.refresh();
     }
 
     public void removeRows(List<Long> ids) {
-        LinkedHashSet<Long> set = new LinkedHashSet<>(ids);
-        rows.removeIf(row -> set.contains(row.getRecord().getId()));
+        rows.refresh();
     }
 
     public AttendanceRecord getSelectedRecord() {
-        AttendanceRow row = tableView.getSelectionModel().getSelectedItem();
-        return row == null ? null : row.getRecord();
+        RowView<AttendanceRecord> row = tableView.getSelectionModel().getSelectedItem();
+        return row == null ? null : row.record();
     }
 
-    public List<AttendanceRecord> getSelectedRecords() {
-        return tableView.getSelectionModel().getSelectedItems().stream().map(AttendanceRow::getRecord).toList();
+    /** Completes on the loader thread when the selection spans pages that are no longer loaded. */
+    public CompletableFuture<List<AttendanceRecord>> getSelectedRecords() {
+        return rows.rowsAt(List.copyOf(tableView.getSelectionModel().getSelectedIndices()))
+                .thenApply(selected -> selected.stream().map(RowView::record).toList());
     }
 
     public void onSelectionChanged(Consumer<AttendanceRecord> listener) {
-        tableView.getSelectionModel().selectedItemProperty().addListener((obs, oldValue, newValue) -> listener.accept(newValue == null ? null : newValue.getRecord()));
+        tableView.getSelectionModel().selectedItemProperty()
+                .addListener((obs, oldValue, newValue) -> listener.accept(newValue == null ? null : newValue.record()));
     }
 
     public void onFilterChanged(Consumer<FilterRequest> listener) {
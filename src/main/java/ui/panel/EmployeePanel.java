@@ -4,9 +4,8 @@ import java.text.NumberFormat;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.scene.Parent;
 import javafx.scene.control.Label;
 import javafx.scene.control.SelectionMode;
@@ -16,23 +15,27 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import util.TableConfigurator;
 import model.Employee;
+import service.CancellationToken;
+import service.PageQuery;
 
 public class EmployeePanel {
-    private final ObservableList<Employee> employees = FXCollections.observableArrayList();
-    private final TableView<Employee> tableView = new TableView<>(employees);
+    private final TableView<RowView<Employee>> tableView = new TableView<>();
+    private final PagedDataSource<RowView<Employee>> employees = new PagedDataSource<>(tableView,
+            row -> row.record().id(), row -> row.record().updatedAt());
+    private PageQuery<Employee, ?> query;
 
     public Parent createView() {
         Label title = new Label("Employee Panel");
         title.getStyleClass().add("panel-title");
 
-        TableColumn<Employee, String> fullNameCol = new TableColumn<>("Full Name");
-        fullNameCol.setCellValueFactory(cell -> cell.getValue().fullNameProperty());
+        TableColumn<RowView<Employee>, String> fullNameCol = new TableColumn<>("Full Name");
+        fullNameCol.setCellValueFactory(RowView.column(0, Employee::fullName));
 
-        TableColumn<Employee, String> positionCol = new TableColumn<>("Position");
-        positionCol.setCellValueFactory(cell -> cell.getValue().positionProperty());
+        TableColumn<RowView<Employee>, String> positionCol = new TableColumn<>("Position");
+        positionCol.setCellValueFactory(RowView.column(1, Employee::position));
 
-        TableColumn<Employee, Number> salaryCol = new TableColumn<>("Monthly Salary");
-        salaryCol.setCellValueFactory(cell -> cell.getValue().monthlySalaryProperty());
+        TableColumn<RowView<Employee>, Number> salaryCol = new TableColumn<>("Monthly Salary");
+        salaryCol.setCellValueFactory(RowView.column(2, Employee::monthlySalary));
         salaryCol.setCellFactory(column -> new javafx.scene.control.TableCell<>() {
             @Override
             protected void updateItem(Number item, boolean empty) {
@@ -46,6 +49,8 @@ public class EmployeePanel {
         });
 
         tableView.getColumns().setAll(fullNameCol, positionCol, salaryCol);
+        tableView.setItems(employees);
+        PagedDataSource.disableColumnSorting(tableView);
         tableView.setPlaceholder(new Label("No employee data yet."));
         tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         tableView.getStyleClass().add("data-table");
@@ -57,49 +62,52 @@ public class EmployeePanel {
         return root;
     }
 
-    public void setData(List<Employee> data) {
-        employees.setAll(data);
+    public CompletableFuture<Integer> setQuery(PageQuery<Employee, ?> query, CancellationToken token) {
+        this.query = query;
+        return employees.open(query.map(RowView::new), token);
+    }
+
+    public PageQuery<Employee, ?> currentQuery() {
+        return query;
     }
 
     public void addEmployee(Employee employee) {
-        employees.add(0, employee);
+        employees.refresh();
     }
 
     public void updateEmployee(Employee employee) {
-        for (int i = 0; i < employees.size(); i++) {
-            if (employees.get(i).getId() == employee.getId()) {
-                employees.set(i, employee);
-                tableView.getSelectionModel().select(employee);
-                return;
-            }
+        int index = employees.replaceLoaded(new RowView<>(employee));
+        if (index >= 0) {
+            tableView.getSelectionModel().clearAndSelect(index);
         }
+        employees.refresh();
     }
 
     public void removeEmployeeById(long id) {
-        employees.removeIf(emp -> emp.getId() == id);
+        removeEmployees(List.of(id));
     }
 
     public void removeEmployees(Collection<Long> ids) {
-        employees.removeIf(emp -> ids.contains(emp.getId()));
+        employees.refresh();
     }
 
     public Employee getSelectedEmployee() {
-        return tableView.getSelectionModel().getSelectedItem();
+        RowView<Employee> row = tableView.getSelectionModel().getSelectedItem();
+        return row == null ? null : row.record();
     }
 
-    public List<Employee> getSelectedEmployees() {
-        return List.copyOf(tableView.getSelectionModel().getSelectedItems());
+    /** Completes on the loader thread when the selection spans pages that are no longer loaded. */
+    public CompletableFuture<List<Employee>> getSelectedEmployees() {
+        return employees.rowsAt(List.copyOf(tableView.getSelectionModel().getSelectedIndices()))
+                .thenApply(selected -> selected.stream().map(RowView::record).toList());
     }
 
     public void onSelectionChanged(Consumer<Employee> listener) {
-        tableView.getSelectionModel().selectedItemProperty().addListener((obs, oldValue, newValue) -> listener.accept(newValue));
+        tableView.getSelectionModel().selectedItemProperty()
+                .addListener((obs, oldValue, newValue) -> listener.accept(newValue == null ? null : newValue.record()));
     }
 
     public int selectedCount() {
         return tableView.getSelectionModel().getSelectedItems().size();
     }
-
-    public List<Employee> getAllEmployees() {
-        return List.copyOf(employees);
-    }
 }
@@ -0,0 +1,108 @@
+package ui.panel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Turns an old and a new row list into the smallest set of remove, insert and update operations,
+ * matching rows by key and detecting changes by version (the record id and {@code updated_at}).
+ * Rows that keep their relative order stay in place; only rows that moved are removed and re-inserted.
+ */
+final class KeyedDiff {
+    interface Listener<T> {
+        /** {@code index} is in the list as it is before this removal; removals come first, highest index first. */
+        void removed(int index, T row);
+
+        /** {@code index} is in the list as it is after all removals and the preceding inserts. */
+        void inserted(int index);
+
+        void updated(int index, T oldRow);
+    }
+
+    private KeyedDiff() {
+    }
+
+    /**
+     * Reports the operations that turn {@code oldRows} into {@code newRows} and returns the merged
+     * list: the new rows in order, reusing the old instance wherever key and version are unchanged.
+     */
+    static <T> List<T> apply(List<T> oldRows, List<T> newRows, Function<? super T, ?> key,
+            Function<? super T, ?> version, Listener<T> listener) {
+        Map<Object, Integer> oldIndex = new HashMap<>(oldRows.size() * 2);
+        for (int i = 0; i < oldRows.size(); i++) {
+            oldIndex.put(key.apply(oldRows.get(i)), i);
+        }
+        int[] matched = new int[newRows.size()];
+        for (int i = 0; i < newRows.size(); i++) {
+            matched[i] = oldIndex.getOrDefault(key.apply(newRows.get(i)), -1);
+        }
+        boolean[] stableNew = longestIncreasingRun(matched);
+        boolean[] stableOld = new boolean[oldRows.size()];
+        for (int i = 0; i < matched.length; i++) {
+            if (stableNew[i]) {
+                stableOld[matched[i]] = true;
+            }
+        }
+
+        for (int i = oldRows.size() - 1; i >= 0; i--) {
+            if (!stableOld[i]) {
+                listener.removed(i, oldRows.get(i));
+            }
+        }
+        List<T> merged = new ArrayList<>(newRows.size());
+        for (int i = 0; i < newRows.size(); i++) {
+            T fresh = newRows.get(i);
+            if (!stableNew[i]) {
+                merged.add(fresh);
+                listener.inserted(i);
+                continue;
+            }
+            T previous = oldRows.get(matched[i]);
+            if (Objects.equals(version.apply(previous), version.apply(fresh))) {
+                merged.add(previous);
+            } else {
+                merged.add(fresh);
+                listener.updated(i, previous);
+            }
+        }
+        return merged;
+    }
+
+    /** Marks the entries of a longest strictly increasing subsequence of the non-negative values. */
+    private static boolean[] longestIncreasingRun(int[] values) {
+        int[] tails = new int[values.length];
+        int[] previous = new int[values.length];
+        Arrays.fill(previous, -1);
+        int length = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0) {
+                continue;
+            }
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tails[mid]] < values[i]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        boolean[] stable = new boolean[values.length];
+        for (int i = length == 0 ? -1 : tails[length - 1]; i >= 0; i = previous[i]) {
+            stable[i] = true;
+        }
+        return stable;
+    }
+}
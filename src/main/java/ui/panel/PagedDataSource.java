@@ -0,0 +1,487 @@
+package ui.panel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+import service.CancellationToken;
+import service.PageQuery;
+import service.TaskScheduler;
+import service.TaskScheduler.Lane;
+
+/**
+ * Fixed-size {@code ObservableList} for a {@code TableView} that loads rows page by page as the table
+ * asks for them. Only {@link #MAX_PAGES} pages are kept; rows that are not loaded yet read as
+ * {@code null} and the table is refreshed when their page arrives. Pages ahead of the scroll direction
+ * are prefetched. Reloading the same query re-reads the loaded pages and applies a {@link KeyedDiff},
+ * so unchanged rows, the scroll position and the selection survive. Must be used from the FX thread.
+ */
+final class PagedDataSource<T> extends ObservableListBase<T> {
+    static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 12;
+    private static final int PREFETCH_PAGES = 2;
+    private static final int PREFETCHED_QUERIES = 4;
+    private static final Logger LOGGER = Logger.getLogger(PagedDataSource.class.getName());
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "table-page-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TableView<T> table;
+    private final Function<? super T, ?> key;
+    private final Function<? super T, ?> version;
+    private Window<T, ?> window;
+    private volatile PageQuery<T, ?> pendingQuery;
+    private int size;
+    private int lastPage = -1;
+    private int direction = 1;
+    private final Map<Object, Loaded<T>> prefetched = new LinkedHashMap<>(PREFETCHED_QUERIES + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Loaded<T>> eldest) {
+            return size() > PREFETCHED_QUERIES;
+        }
+    };
+    private final Map<Object, Prefetch> prefetching = new HashMap<>();
+
+    PagedDataSource(TableView<T> table, Function<? super T, ?> key, Function<? super T, ?> version) {
+        this.table = table;
+        this.key = key;
+        this.version = version;
+    }
+
+    /** Cell value factory that leaves cells of rows whose page is still loading blank. */
+    static <S, V> Callback<TableColumn.CellDataFeatures<S, V>, ObservableValue<V>> cell(Function<S, ObservableValue<V>> value) {
+        return features -> features.getValue() == null ? null : value.apply(features.getValue());
+    }
+
+    /** Order comes from the query; the table cannot sort a list it only partially holds. */
+    static void disableColumnSorting(TableView<?> table) {
+        table.getColumns().forEach(column -> column.setSortable(false));
+    }
+
+    /**
+     * Shows {@code query}. A query with the same key as the current one is diffed into the loaded
+     * rows; any other query replaces them once its first page is ready. Cancelling {@code token}, or
+     * opening another query, stops the load at its next step.
+     */
+    CompletableFuture<Integer> open(PageQuery<T, ?> query, CancellationToken token) {
+        boolean reset = pendingQuery == null || !Objects.equals(pendingQuery.key(), query.key());
+        pendingQuery = query;
+        Loaded<T> cached = reset ? prefetched.remove(query.key()) : null;
+        if (cached != null) {
+            // Show the prefetched first page now, then re-read it in case rows changed since.
+            install(cached);
+            return load(query, false, token);
+        }
+        return load(query, reset, token);
+    }
+
+    /**
+     * Reads the count, page boundaries and first page of each query on the batch lane so a later
+     * {@link #open} of the same key shows at once. Prefetches for any other key are cancelled.
+     */
+    void prefetch(List<? extends PageQuery<T, ?>> queries) {
+        Set<Object> wanted = new HashSet<>();
+        queries.forEach(query -> wanted.add(query.key()));
+        prefetching.entrySet().removeIf(entry -> {
+            if (wanted.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().cancelled = true;
+            entry.getValue().task.cancel(false);
+            return true;
+        });
+        for (PageQuery<T, ?> query : queries) {
+            Object key = query.key();
+            if (prefetched.containsKey(key) || prefetching.containsKey(key)
+                    || (pendingQuery != null && Objects.equals(pendingQuery.key(), key))) {
+                continue;
+            }
+            Prefetch prefetch = new Prefetch();
+            prefetch.task = TaskScheduler.getInstance().supply(Lane.BATCH, () -> read(query, prefetch));
+            prefetching.put(key, prefetch);
+            prefetch.task.whenComplete((loaded, ex) -> Platform.runLater(() -> {
+                if (prefetching.get(key) != prefetch) {
+                    return;
+                }
+                prefetching.remove(key);
+                if (ex == null && loaded != null) {
+                    @SuppressWarnings("unchecked")
+                    Loaded<T> rows = (Loaded<T>) loaded;
+                    prefetched.put(key, rows);
+                } else if (ex != null && !(ex.getCause() instanceof CancellationException)) {
+                    LOGGER.log(Level.FINE, "Table prefetch failed.", ex);
+                }
+            }));
+        }
+    }
+
+    /** Count, boundaries and first page, or {@code null} when the prefetch was cancelled between steps. */
+    private static <T, K> Loaded<T> read(PageQuery<T, K> query, Prefetch prefetch) {
+        List<K> boundaries = query.boundaries(PAGE_SIZE);
+        if (prefetch.cancelled) {
+            return null;
+        }
+        Window<T, K> window = new Window<>(query, boundaries, query.count());
+        if (prefetch.cancelled) {
+            return null;
+        }
+        Map<Integer, List<T>> pages = new TreeMap<>();
+        pages.put(0, window.fetch(0));
+        return new Loaded<>(window, pages);
+    }
+
+    /** Re-reads the current query after rows were added, changed or removed. */
+    CompletableFuture<Integer> refresh() {
+        PageQuery<T, ?> query = pendingQuery;
+        if (query == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        return load(query, false, new CancellationToken()).whenComplete((count, ex) -> {
+            if (ex != null && !(ex.getCause() instanceof CancellationException)) {
+                LOGGER.log(Level.WARNING, "Unable to refresh table rows.", ex);
+            }
+        });
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / PAGE_SIZE;
+        if (page != lastPage) {
+            direction = page > lastPage ? 1 : -1;
+            lastPage = page;
+            window.focus = page;
+        }
+        List<T> rows = window.pages.get(page);
+        if (rows == null) {
+            request(page, true);
+        }
+        for (int ahead = 1; ahead <= PREFETCH_PAGES; ahead++) {
+            request(page + direction * ahead, false);
+        }
+        int offset = index - page * PAGE_SIZE;
+        return rows == null || offset >= rows.size() ? null : rows.get(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Replaces the loaded row with the same key; returns its index or -1 when it is not loaded. */
+    int replaceLoaded(T replacement) {
+        if (window == null) {
+            return -1;
+        }
+        Object replacementKey = key.apply(replacement);
+        for (Map.Entry<Integer, List<T>> entry : window.pages.entrySet()) {
+            List<T> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (Objects.equals(key.apply(rows.get(i)), replacementKey)) {
+                    Set<Object> selected = selectedKeys();
+                    int index = entry.getKey() * PAGE_SIZE + i;
+                    T previous = rows.set(i, replacement);
+                    beginChange();
+                    nextSet(index, previous);
+                    endChange();
+                    restoreSelection(selected);
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rows at the given indices, in index order. Loaded pages are read on the FX thread; pages outside
+     * the window are read on the loader thread without being added to it, so a selection that spans
+     * evicted pages still resolves completely without blocking the UI.
+     */
+    CompletableFuture<List<T>> rowsAt(Collection<Integer> indices) {
+        Window<T, ?> current = window;
+        if (current == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        List<Integer> wanted = new ArrayList<>(indices.size());
+        Map<Integer, List<T>> pages = new HashMap<>();
+        Set<Integer> missing = new TreeSet<>();
+        for (int index : indices) {
+            if (index < 0 || index >= size) {
+                continue;
+            }
+            wanted.add(index);
+            int page = index / PAGE_SIZE;
+            if (!pages.containsKey(page) && !missing.contains(page)) {
+                List<T> pageRows = current.pages.get(page);
+                if (pageRows == null) {
+                    missing.add(page);
+                } else {
+                    pages.put(page, pageRows);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(pick(wanted, pages));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            for (int page : missing) {
+                pages.put(page, current.fetch(page));
+            }
+            return pick(wanted, pages);
+        }, LOADER);
+    }
+
+    private static <T> List<T> pick(List<Integer> indices, Map<Integer, List<T>> pages) {
+        List<T> rows = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            List<T> pageRows = pages.get(index / PAGE_SIZE);
+            int offset = index % PAGE_SIZE;
+            if (offset < pageRows.size()) {
+                rows.add(pageRows.get(offset));
+            }
+        }
+        return rows;
+    }
+
+    private <K> CompletableFuture<Integer> load(PageQuery<T, K> query, boolean reset, CancellationToken token) {
+        Set<Integer> reread = reset || window == null ? Set.of() : new TreeSet<>(window.pages.keySet());
+        return CompletableFuture.supplyAsync(() -> {
+            // A newer query may have been opened while this one waited for the loader or between its reads.
+            stopIfSuperseded(query, token);
+            List<K> boundaries = query.boundaries(PAGE_SIZE);
+            stopIfSuperseded(query, token);
+            Window<T, K> loaded = new Window<>(query, boundaries, query.count());
+            stopIfSuperseded(query, token);
+            Map<Integer, List<T>> pages = new TreeMap<>();
+            pages.put(0, loaded.fetch(0));
+            for (int page : reread) {
+                stopIfSuperseded(query, token);
+                pages.computeIfAbsent(page, loaded::fetch);
+            }
+            return new Loaded<>(loaded, pages);
+        }, LOADER).thenApplyAsync(loaded -> {
+            if (pendingQuery == query) {
+                if (reset || window == null) {
+                    install(loaded);
+                } else {
+                    merge(loaded);
+                }
+            }
+            return loaded.window.count;
+        }, Platform::runLater);
+    }
+
+    private void stopIfSuperseded(PageQuery<T, ?> query, CancellationToken token) {
+        if (pendingQuery != query || token.isCancelled()) {
+            throw new CancellationException();
+        }
+    }
+
+    private void install(Loaded<T> loaded) {
+        int oldSize = size;
+        window = loaded.window;
+        window.pages.putAll(loaded.pages);
+        size = window.count;
+        lastPage = -1;
+        direction = 1;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, null));
+        }
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+        table.refresh();
+    }
+
+    /**
+     * Diffs every page that was loaded against its re-read contents. Pages keep their fixed offsets, so
+     * a page only changes length when it becomes the partial last page; later pages are then empty.
+     */
+    private void merge(Loaded<T> loaded) {
+        Set<Object> selected = selectedKeys();
+        Window<T, ?> previous = window;
+        window = loaded.window;
+        if (lastPage >= 0) {
+            window.focus = lastPage;
+        }
+        beginChange();
+        int shift = 0;
+        for (int page : new TreeSet<>(previous.pages.keySet())) {
+            int base = page * PAGE_SIZE + shift;
+            List<T> oldRows = previous.pages.get(page);
+            List<T> newRows = loaded.pages.getOrDefault(page, List.of());
+            List<T> merged = KeyedDiff.apply(oldRows, newRows, key, version, new KeyedDiff.Listener<>() {
+                @Override
+                public void removed(int index, T row) {
+                    nextRemove(base + index, row);
+                }
+
+                @Override
+                public void inserted(int index) {
+                    nextAdd(base + index, base + index + 1);
+                }
+
+                @Override
+                public void updated(int index, T oldRow) {
+                    nextSet(base + index, oldRow);
+                }
+            });
+            shift += newRows.size() - oldRows.size();
+            if (!merged.isEmpty()) {
+                window.pages.put(page, merged);
+            }
+        }
+        loaded.pages.forEach(window.pages::putIfAbsent);
+        int current = size + shift;
+        size = window.count;
+        if (size > current) {
+            nextAdd(current, size);
+        } else if (size < current) {
+            nextRemove(size, Collections.nCopies(current - size, null));
+        }
+        endChange();
+        restoreSelection(selected);
+        for (int page : previous.shown) {
+            request(page, true);
+        }
+    }
+
+    private Set<Object> selectedKeys() {
+        Set<Object> keys = new HashSet<>();
+        for (int index : table.getSelectionModel().getSelectedIndices()) {
+            List<T> rows = window.pages.get(index / PAGE_SIZE);
+            int offset = index % PAGE_SIZE;
+            if (rows != null && offset < rows.size()) {
+                keys.add(key.apply(rows.get(offset)));
+            }
+        }
+        return keys;
+    }
+
+    /** Re-selects loaded rows by key after their indices may have moved. */
+    private void restoreSelection(Set<Object> keys) {
+        var selection = table.getSelectionModel();
+        for (Map.Entry<Integer, List<T>> entry : window.pages.entrySet()) {
+            List<T> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                int index = entry.getKey() * PAGE_SIZE + i;
+                boolean wanted = keys.contains(key.apply(rows.get(i)));
+                if (wanted != selection.isSelected(index)) {
+                    if (wanted) {
+                        selection.select(index);
+                    } else {
+                        selection.clearSelection(index);
+                    }
+                }
+            }
+        }
+    }
+
+    private void request(int page, boolean shown) {
+        Window<T, ?> current = window;
+        if (page < 0 || page * PAGE_SIZE >= size || current.pages.containsKey(page) || current.failed.contains(page)) {
+            return;
+        }
+        if (shown) {
+            current.shown.add(page);
+        }
+        if (!current.loading.add(page)) {
+            return;
+        }
+        LOADER.execute(() -> {
+            List<T> rows = null;
+            boolean failed = false;
+            if (Math.abs(page - current.focus) <= MAX_PAGES) {
+                try {
+                    rows = current.fetch(page);
+                } catch (RuntimeException ex) {
+                    failed = true;
+                    LOGGER.log(Level.WARNING, "Unable to load table page " + page + ".", ex);
+                }
+            }
+            List<T> loaded = rows;
+            boolean loadFailed = failed;
+            Platform.runLater(() -> arrive(current, page, loaded, loadFailed));
+        });
+    }
+
+    private void arrive(Window<T, ?> target, int page, List<T> rows, boolean failed) {
+        target.loading.remove(page);
+        boolean shown = target.shown.remove(page);
+        if (failed) {
+            target.failed.add(page);
+        }
+        if (rows == null || window != target) {
+            return;
+        }
+        target.pages.put(page, rows);
+        if (shown) {
+            table.refresh();
+        }
+    }
+
+    private record Loaded<T>(Window<T, ?> window, Map<Integer, List<T>> pages) {
+    }
+
+    private static final class Prefetch {
+        private volatile boolean cancelled;
+        private CompletableFuture<? extends Loaded<?>> task;
+    }
+
+    private static final class Window<T, K> {
+        private final PageQuery<T, K> query;
+        private final List<K> boundaries;
+        private final int count;
+        private final Map<Integer, List<T>> pages = new LinkedHashMap<>(MAX_PAGES + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+        private final Set<Integer> loading = new HashSet<>();
+        private final Set<Integer> shown = new HashSet<>();
+        private final Set<Integer> failed = new HashSet<>();
+        private volatile int focus;
+
+        private Window(PageQuery<T, K> query, List<K> boundaries, int count) {
+            this.query = query;
+            this.boundaries = boundaries;
+            this.count = count;
+        }
+
+        private List<T> fetch(int page) {
+            if (page == 0) {
+                return query.pageAfter(null, PAGE_SIZE);
+            }
+            if (page - 1 >= boundaries.size()) {
+                return new ArrayList<>();
+            }
+            return query.pageAfter(boundaries.get(page - 1), PAGE_SIZE);
+        }
+    }
+}
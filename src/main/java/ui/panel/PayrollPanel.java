@@ -2,17 +2,19 @@ package ui.panel;
 
 import java.text.NumberFormat;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import java.util.function.Function;
 import javafx.scene.Parent;
+import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -21,35 +23,21 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import util.TableConfigurator;
 import model.PayrollRecord;
+import service.CancellationToken;
+import service.PageQuery;
 
 public class PayrollPanel {
     public record MonthRequest(YearMonth month) {}
 
-    public static class PayrollRow {
-        private final PayrollRecord record;
-        private final String employeeName;
-
-        public PayrollRow(PayrollRecord record, String employeeName) {
-            this.record = record;
-            this.employeeName = employeeName;
-        }
-
-        public PayrollRecord record() { return record; }
-        public SimpleStringProperty employeeNameProperty() { return new SimpleStringProperty(employeeName); }
-        public SimpleStringProperty monthProperty() { return new SimpleStringProperty(record.getMonth().toString()); }
-        public SimpleStringProperty baseSalaryProperty() { return currency(record.getBaseSalary()); }
-        public SimpleStringProperty effectiveDaysProperty() { return new SimpleStringProperty(String.valueOf(record.getEffectiveWorkDays())); }
-        public SimpleStringProperty computedSalaryProperty() { return currency(record.getComputedSalary()); }
-        public SimpleStringProperty statusProperty() { return new SimpleStringProperty(record.getStatus().name()); }
-
-        private SimpleStringProperty currency(double value) {
-            return new SimpleStringProperty(NumberFormat.getCurrencyInstance(Locale.US).format(value));
-        }
-    }
-
-    private final ObservableList<PayrollRow> rows = FXCollections.observableArrayList();
-    private final TableView<PayrollRow> tableView = new TableView<>(rows);
+    private final TableView<RowView<PayrollRecord>> tableView = new TableView<>();
+    private final PagedDataSource<RowView<PayrollRecord>> rows = new PagedDataSource<>(tableView,
+            row -> row.record().id(), row -> row.record().updatedAt());
+    private Map<Long, String> employeeNames = Map.of();
     private final ComboBox<YearMonth> monthSelector = new ComboBox<>();
+    private final Label runLabel = new Label();
+    private final ProgressBar runProgress = new ProgressBar(0);
+    private final Button cancelRunButton = new Button("Cancel");
+    private final HBox runBox = new HBox(6, runLabel, runProgress, cancelRunButton);
 
     public Parent createView() {
         Label title = new Label("Payroll Panel");
@@ -58,31 +46,37 @@ public class PayrollPanel {
         monthSelector.getItems().setAll(YearMonth.now(), YearMonth.now().minusMonths(1), YearMonth.now().minusMonths(2));
         monthSelector.getSelectionModel().selectFirst();
 
-        TableColumn<PayrollRow, String> employeeCol = new TableColumn<>("Employee Name");
-        employeeCol.setCellValueFactory(cell -> cell.getValue().employeeNameProperty());
+        TableColumn<RowView<PayrollRecord>, String> employeeCol = new TableColumn<>("Employee Name");
+        employeeCol.setCellValueFactory(RowView.liveColumn(0, r -> employeeNames.getOrDefault(r.employeeId(), "Unknown")));
 
-        TableColumn<PayrollRow, String> monthCol = new TableColumn<>("Month");
-        monthCol.setCellValueFactory(cell -> cell.getValue().monthProperty());
+        TableColumn<RowView<PayrollRecord>, String> monthCol = new TableColumn<>("Month");
+        monthCol.setCellValueFactory(RowView.column(1, r -> r.month().toString()));
 
-        TableColumn<PayrollRow, String> baseCol = new TableColumn<>("Base Salary");
-        baseCol.setCellValueFactory(cell -> cell.getValue().baseSalaryProperty());
+        TableColumn<RowView<PayrollRecord>, String> baseCol = new TableColumn<>("Base Salary");
+        baseCol.setCellValueFactory(RowView.column(2, r -> currency(r.baseSalary())));
 
-        TableColumn<PayrollRow, String> effectiveCol = new TableColumn<>("Effective Work Days");
-        effectiveCol.setCellValueFactory(cell -> cell.getValue().effectiveDaysProperty());
+        TableColumn<RowView<PayrollRecord>, String> effectiveCol = new TableColumn<>("Effective Work Days");
+        effectiveCol.setCellValueFactory(RowView.column(3, r -> String.valueOf(r.effectiveWorkDays())));
 
-        TableColumn<PayrollRow, String> computedCol = new TableColumn<>("Computed Salary");
-        computedCol.setCellValueFactory(cell -> cell.getValue().computedSalaryProperty());
+        TableColumn<RowView<PayrollRecord>, String> computedCol = new TableColumn<>("Computed Salary");
+        computedCol.setCellValueFactory(RowView.column(4, r -> currency(r.computedSalary())));
 
-        TableColumn<PayrollRow, String> statusCol = new TableColumn<>("Status");
-        statusCol.setCellValueFactory(cell -> cell.getValue().statusProperty());
+        TableColumn<RowView<PayrollRecord>, String> statusCol = new TableColumn<>("Status");
+        statusCol.setCellValueFactory(RowView.column(5, r -> r.status().name()));
 
         tableView.getColumns().setAll(employeeCol, monthCol, baseCol, effectiveCol, computedCol, statusCol);
+        tableView.setItems(rows);
+        PagedDataSource.disableColumnSorting(tableView);
         tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         tableView.setPlaceholder(new Label("No payroll data yet."));
         tableView.getStyleClass().add("data-table");
         TableConfigurator.apply(tableView, "payroll_table");
 
-        HBox top = new HBox(8, new Label("Month:"), monthSelector);
+        runProgress.setPrefWidth(160);
+        cancelRunButton.getStyleClass().add("danger-button");
+        hideRunProgress();
+
+        HBox top = new HBox(8, new Label("Month:"), monthSelector, runBox);
         HBox.setHgrow(monthSelector, Priority.NEVER);
 
         VBox root = new VBox(10, title, top, tableView);
@@ -91,14 +85,29 @@ public class PayrollPanel {
         return root;
     }
 
-    public void setRows(List<PayrollRecord> records, Map<Long, String> names) {
-        rows.setAll(records.stream().map(r -> new PayrollRow(r, names.getOrDefault(r.getEmployeeId(), "Unknown"))).toList());
+    public CompletableFuture<Integer> setQuery(PageQuery<PayrollRecord, ?> query, CancellationToken token) {
+        return rows.open(query.map(RowView::new), token);
     }
 
-    public void addRow(PayrollRecord record, String name) { rows.add(0, new PayrollRow(record, name)); }
-    public void removeRows(List<Long> ids) { rows.removeIf(r -> ids.contains(r.record().getId())); }
+    /** Prefetches the selector's months on either side of {@code month}; ignored once another month is selected. */
+    public void prefetchAdjacent(YearMonth month, Function<YearMonth, PageQuery<PayrollRecord, ?>> queryForMonth) {
+        if (!month.equals(selectedMonth())) return;
+        List<PageQuery<RowView<PayrollRecord>, ?>> queries = new ArrayList<>();
+        for (YearMonth adjacent : List.of(month.minusMonths(1), month.plusMonths(1))) {
+            if (monthSelector.getItems().contains(adjacent)) queries.add(queryForMonth.apply(adjacent).map(RowView::new));
+        }
+        rows.prefetch(queries);
+    }
+    public void setEmployeeNames(Map<Long, String> names) { employeeNames = names; tableView.refresh(); }
+
+    public void addRow(PayrollRecord record) { rows.refresh(); }
+    public void removeRows(List<Long> ids) { rows.refresh(); }
 
-    public List<PayrollRecord> getSelectedRecords() { return tableView.getSelectionModel().getSelectedItems().stream().map(PayrollRow::record).toList(); }
+    /** Completes on the loader thread when the selection spans pages that are no longer loaded. */
+    public CompletableFuture<List<PayrollRecord>> getSelectedRecords() {
+        return rows.rowsAt(List.copyOf(tableView.getSelectionModel().getSelectedIndices()))
+                .thenApply(selected -> selected.stream().map(RowView::record).toList());
+    }
     public int selectedCount() { return tableView.getSelectionModel().getSelectedItems().size(); }
 
     public void onSelectionChanged(Consumer<Integer> listener) {
@@ -109,5 +118,25 @@ public class PayrollPanel {
         monthSelector.valueProperty().addListener((obs, oldV, newV) -> listener.accept(new MonthRequest(selectedMonth())));
     }
 
+    public void showRunProgress(String text, double progress, Runnable onCancel) {
+        runLabel.setText(text);
+        runProgress.setProgress(progress);
+        cancelRunButton.setDisable(onCancel == null);
+        cancelRunButton.setOnAction(event -> {
+            cancelRunButton.setDisable(true);
+            if (onCancel != null) onCancel.run();
+        });
+        runBox.setManaged(true);
+        runBox.setVisible(true);
+    }
+
+    public void hideRunProgress() {
+        runBox.setVisible(false);
+        runBox.setManaged(false);
+        cancelRunButton.setOnAction(null);
+    }
+
+    private static String currency(double value) { return NumberFormat.getCurrencyInstance(Locale.US).format(value); }
+
     public YearMonth selectedMonth() { return Objects.requireNonNullElse(monthSelector.getValue(), YearMonth.now()); }
 }
@@ -0,0 +1,58 @@
+package ui.panel;
+
+import java.util.function.Function;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+/**
+ * Table row over an immutable data record. A column's property is created the first time a cell
+ * shows it and kept while the row stays loaded, so rows that are never on screen carry no properties.
+ */
+final class RowView<R> {
+    private final R record;
+    private ReadOnlyObjectWrapper<?>[] cells;
+
+    RowView(R record) {
+        this.record = record;
+    }
+
+    R record() {
+        return record;
+    }
+
+    /** Cell value factory for column {@code slot}; the value is computed once per row. */
+    static <R, V> Callback<TableColumn.CellDataFeatures<RowView<R>, V>, ObservableValue<V>> column(int slot,
+            Function<? super R, V> value) {
+        return PagedDataSource.cell(row -> row.cell(slot, value, false));
+    }
+
+    /**
+     * Cell value factory for a column that reads state outside the record, such as a name lookup. The
+     * value is recomputed on every cell update and pushed into the cached property.
+     */
+    static <R, V> Callback<TableColumn.CellDataFeatures<RowView<R>, V>, ObservableValue<V>> liveColumn(int slot,
+            Function<? super R, V> value) {
+        return PagedDataSource.cell(row -> row.cell(slot, value, true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> ObservableValue<V> cell(int slot, Function<? super R, V> value, boolean live) {
+        if (cells == null || slot >= cells.length) {
+            ReadOnlyObjectWrapper<?>[] grown = new ReadOnlyObjectWrapper<?>[slot + 1];
+            if (cells != null) {
+                System.arraycopy(cells, 0, grown, 0, cells.length);
+            }
+            cells = grown;
+        }
+        ReadOnlyObjectWrapper<V> property = (ReadOnlyObjectWrapper<V>) cells[slot];
+        if (property == null) {
+            property = new ReadOnlyObjectWrapper<>(value.apply(record));
+            cells[slot] = property;
+        } else if (live) {
+            property.set(value.apply(record));
+        }
+        return property.getReadOnlyProperty();
+    }
+}
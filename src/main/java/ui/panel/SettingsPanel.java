@@ -12,10 +12,12 @@ import javafx.scene.layout.VBox;
 import model.AppSettings;
 
 public class SettingsPanel {
-    public record SettingsRequest(String companyName, String requiredWorkDays, ThemeManager.Theme theme) {}
+    public record SettingsRequest(String companyName, String requiredWorkDays, ThemeManager.Theme theme, String restDays, String holidays) {}
 
     private final TextField companyNameField = new TextField();
     private final TextField requiredWorkDaysField = new TextField();
+    private final TextField restDaysField = new TextField();
+    private final TextField holidaysField = new TextField();
     private final ComboBox<ThemeManager.Theme> themeSelector = new ComboBox<>();
     private final Button saveButton = new Button("Save Settings");
     private final Button backupButton = new Button("Backup Database");
@@ -27,13 +29,17 @@ public class SettingsPanel {
 
         companyNameField.setPromptText("Company Name");
         requiredWorkDaysField.setPromptText("Required Work Days");
+        restDaysField.setPromptText("Rest Days (e.g. SATURDAY, SUNDAY)");
+        holidaysField.setPromptText("Holidays (yyyy-MM-dd, or MM-dd for every year)");
         themeSelector.getItems().setAll(ThemeManager.Theme.LIGHT, ThemeManager.Theme.DARK);
 
         saveButton.getStyleClass().add("primary-button");
         saveButton.setOnAction(e -> onSave.accept(new SettingsRequest(
                 companyNameField.getText(),
                 requiredWorkDaysField.getText(),
-                themeSelector.getValue())));
+                themeSelector.getValue(),
+                restDaysField.getText(),
+                holidaysField.getText())));
 
         backupButton.getStyleClass().add("secondary-button");
         backupButton.setOnAction(e -> onBackup.run());
@@ -41,7 +47,7 @@ public class SettingsPanel {
         restoreButton.getStyleClass().add("danger-button");
         restoreButton.setOnAction(e -> onRestore.run());
 
-        VBox root = new VBox(10, title, companyNameField, requiredWorkDaysField, themeSelector, saveButton, backupButton, restoreButton);
+        VBox root = new VBox(10, title, companyNameField, requiredWorkDaysField, restDaysField, holidaysField, themeSelector, saveButton, backupButton, restoreButton);
         root.getStyleClass().add("content-panel");
         root.setPadding(new Insets(12));
         return root;
@@ -52,4 +58,9 @@ public class SettingsPanel {
         requiredWorkDaysField.setText(String.valueOf(settings.getRequiredWorkDays()));
         themeSelector.setValue(settings.getTheme());
     }
+
+    public void setCalendar(String restDays, String holidays) {
+        restDaysField.setText(restDays);
+        holidaysField.setText(holidays);
+    }
 }
@@ -9,6 +9,17 @@ public final class AppConstants {
     public static final int DEFAULT_WINDOW_WIDTH = 1000;
     public static final int DEFAULT_WINDOW_HEIGHT = 680;
     public static final int MAX_POOL_SIZE = 4;
+    /**
+     * Stored in {@code PRAGMA user_version}; bump it with every schema change. 1: payroll amounts in
+     * cents. 2: payroll_dirty, payroll_run and work_calendar tables and the keyset paging indexes.
+     */
+    public static final int SCHEMA_VERSION = 2;
+    public static final long PARALLEL_IMPORT_THRESHOLD_BYTES = 32L * 1024 * 1024;
+    public static final boolean PAYROLL_PUSH_DOWN = Boolean.getBoolean("payroll.pushdown");
+    public static final int EMPLOYEE_MEMORY_QUERY_LIMIT = Integer.getInteger("employee.memoryQueryLimit", 100_000);
+    public static final int BACKUP_INTERVAL_HOURS = 24;
+    public static final int BACKUP_GENERATIONS = 7;
+    public static final long BACKUP_MAX_BYTES_PER_SECOND = 8L * 1024 * 1024;
 
     private AppConstants() {
     }
@@ -1,10 +1,12 @@
 package util;
 
+import java.util.Collection;
 import java.util.Optional;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ChoiceDialog;
 import javafx.stage.Window;
 
 public final class DialogUtil {
@@ -35,6 +37,17 @@ public final class DialogUtil {
         return result.isPresent() && result.get() == ButtonType.OK;
     }
 
+    public static <T> Optional<T> showChoice(Window owner, String title, String message, Collection<T> choices, T defaultChoice) {
+        ChoiceDialog<T> dialog = new ChoiceDialog<>(defaultChoice, choices);
+        dialog.setTitle(title);
+        dialog.setHeaderText(null);
+        dialog.setContentText(message);
+        if (owner != null) {
+            dialog.initOwner(owner);
+        }
+        return dialog.showAndWait();
+    }
+
     private static void show(Window owner, AlertType type, String title, String message) {
         Runnable task = () -> {
             Alert alert = new Alert(type);
@@ -0,0 +1,34 @@
+package util;
+
+public final class IoThrottle {
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final long bytesPerSecond;
+    private long windowStart = System.nanoTime();
+    private long windowBytes;
+
+    public IoThrottle(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public synchronized void acquire(long bytes) {
+        if (bytesPerSecond <= 0 || bytes <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            windowStart = now;
+            windowBytes = 0;
+        }
+        windowBytes += bytes;
+        long allowedAt = windowStart + windowBytes * WINDOW_NANOS / bytesPerSecond;
+        long wait = allowedAt - now;
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package util;
+
+public final class Money {
+    public static final long CENTS_PER_UNIT = 100L;
+
+    public enum Rounding {
+        HALF_UP,
+        HALF_EVEN
+    }
+
+    private Money() {
+    }
+
+    public static long toCents(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Amount must be a finite number.");
+        }
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    public static double toDouble(long cents) {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    public static String toPlainString(long cents) {
+        long abs = Math.abs(cents);
+        long fraction = abs % CENTS_PER_UNIT;
+        return (cents < 0 ? "-" : "") + abs / CENTS_PER_UNIT + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    public static long multiplyDivide(long amount, long multiplier, long divisor, Rounding rounding) {
+        return divide(Math.multiplyExact(amount, multiplier), divisor, rounding);
+    }
+
+    public static long divide(long dividend, long divisor, Rounding rounding) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero.");
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        long twiceRemainder = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+        boolean roundAway = twiceRemainder > absDivisor
+                || (twiceRemainder == absDivisor && (rounding == Rounding.HALF_UP || (quotient & 1) != 0));
+        return roundAway ? quotient + sign : quotient;
+    }
+}
@@ -0,0 +1,46 @@
+package util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Cold-start timeline. Each phase is logged with its offset from process start, and {@link #finish}
+ * logs the whole timeline once when the first screen of data is up.
+ */
+public final class StartupTimeline {
+    private static final Logger LOGGER = Logger.getLogger(StartupTimeline.class.getName());
+    private static final Instant PROCESS_START = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+    private static final List<String> PHASES = new ArrayList<>();
+    private static boolean finished;
+
+    private StartupTimeline() {
+    }
+
+    public static void mark(String phase) {
+        long elapsed = Duration.between(PROCESS_START, Instant.now()).toMillis();
+        String entry = "+" + elapsed + " ms " + phase + " [" + Thread.currentThread().getName() + "]";
+        synchronized (PHASES) {
+            if (finished) {
+                return;
+            }
+            PHASES.add(entry);
+        }
+        LOGGER.info(() -> "Startup " + entry);
+    }
+
+    public static void finish(String phase) {
+        mark(phase);
+        String timeline;
+        synchronized (PHASES) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            timeline = String.join("\n  ", PHASES);
+        }
+        LOGGER.info(() -> "Startup timeline:\n  " + timeline);
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javafx.collections.ObservableList;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
@@ -34,10 +35,11 @@ public final class TableConfigurator {
         cols.setAll(reordered);
     }
 
-    public static <T> void persist(TableView<T> table, String tableKey) {
+    /** Remembers the column order; the returned future fails if the queued write does not reach the database. */
+    public static <T> CompletableFuture<String> persist(TableView<T> table, String tableKey) {
         List<String> order = table.getColumns().stream().map(TableColumn::getText).toList();
         cache.put(tableKey, order);
-        saveAll();
+        return saveAll();
     }
 
     private static List<String> loadOrder(String key) {
@@ -56,12 +58,12 @@ public final class TableConfigurator {
         return cache.getOrDefault(key, List.of());
     }
 
-    private static void saveAll() {
+    private static CompletableFuture<String> saveAll() {
         StringBuilder sb = new StringBuilder();
         cache.forEach((k, v) -> {
             if (sb.length() > 0) sb.append(';');
             sb.append(k).append('=').append(String.join(",", v));
         });
-        SETTINGS.saveTableConfig(sb.toString());
+        return SETTINGS.saveTableConfig(sb.toString());
     }
 }
@@ -0,0 +1,101 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import config.DatabaseConfig;
+import database.SQLiteConnectionManager;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.Employee;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.EmployeeRepository;
+import repository.KeysetPager;
+
+/** The in-memory employee query must filter, sort and page exactly like the SQL it stands in for. */
+class EmployeeQueryParityTest {
+    private static final List<String> SORT_KEYS = List.of("DEFAULT", "NAME_ASC", "NAME_DESC", "SALARY_ASC", "SALARY_DESC");
+    // "Zoë 😀" and "Zoë Ａ" differ above the BMP, where String.compareTo and SQLite's BINARY order disagree.
+    private static final List<String> NAMES = List.of(
+            "Émile Zola", "émile zola", "EMILE ZOLA", "Straße Meyer", "STRASSE MEYER", "Ωmega Ray", "ωmega ray",
+            "İsmail Kaya", "ismail kaya", "Ａlpha Wide", "ａlpha wide", "Zoë 😀 Smile", "Zoë Ａ Mark",
+            "Ada Lovelace", "ada lovelace", "Bob", "bob", "Bo");
+    private static final List<String> POSITIONS = List.of("Dev", "DEV", "Développeur", "Ωps");
+    private static final List<String> KEYWORDS = List.of(
+            "", "e", "E", "émile", "ÉMILE", "Émile", "emile", "straße", "STRASSE", "ω", "Ω", "ismail", "İsmail", "ı",
+            "ａ", "Ａ", "😀", "bo", "BO", "dév", "DÉV", "dev", "ops");
+
+    @TempDir
+    static Path dataDir;
+
+    private final EmployeeQueryEngine engine = EmployeeQueryEngine.getInstance();
+    private final EmployeeRepository repository = new EmployeeRepository();
+
+    @BeforeAll
+    static void createDatabase() {
+        // Surefire forks a JVM per test class, so this is the first database path DatabaseConfig resolves.
+        System.setProperty(DatabaseConfig.DATABASE_PATH_PROPERTY, dataDir.resolve("payroll.db").toString());
+        EmployeeService employees = new EmployeeService();
+        employees.initialize();
+        Random random = new Random(5);
+        for (int i = 0; i < 120; i++) {
+            // Few distinct salaries, so every sort has ties that fall back to id order.
+            String salary = (10_000 + random.nextInt(4) * 2_500) + ".50";
+            employees.create(NAMES.get(i % NAMES.size()) + " " + i / NAMES.size(), POSITIONS.get(random.nextInt(POSITIONS.size())), salary);
+        }
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        SQLiteConnectionManager.getInstance().close();
+    }
+
+    @Test
+    void filterMatchesDatabase() throws SQLException {
+        for (String sortKey : SORT_KEYS) {
+            for (String keyword : KEYWORDS) {
+                for (String position : List.of("", "Dev", "Développeur")) {
+                    List<Employee> memory = engine.filter(keyword, position, sortKey);
+                    assertNotNull(memory);
+                    assertEquals(ids(repository.findFiltered(keyword, position, sortKey)), ids(memory),
+                            sortKey + " keyword '" + keyword + "' position '" + position + "'");
+                }
+            }
+        }
+    }
+
+    @Test
+    void pagesMatchDatabase() throws SQLException {
+        for (String sortKey : SORT_KEYS) {
+            for (String keyword : List.of("", "e", "É", "bo")) {
+                String query = sortKey + " keyword '" + keyword + "'";
+                KeysetPager<Employee, EmployeeRepository.PageKey> database = repository.filteredPager(keyword, "", sortKey);
+                KeysetPager<Employee, EmployeeRepository.PageKey> memory = engine.pager(keyword, "", sortKey, database);
+                assertEquals(database.count(), memory.count(), query);
+                List<EmployeeRepository.PageKey> boundaries = database.boundaries(7);
+                assertEquals(keys(boundaries), keys(memory.boundaries(7)), query);
+                List<EmployeeRepository.PageKey> starts = new ArrayList<>();
+                starts.add(null);
+                starts.addAll(boundaries);
+                for (EmployeeRepository.PageKey start : starts) {
+                    assertEquals(ids(database.pageAfter(start, 7)), ids(memory.pageAfter(start, 7)), query + " after " + start);
+                }
+            }
+        }
+    }
+
+    /** SQLite hands back small integer keys as Integer where memory holds Long; compare the values. */
+    private static List<String> keys(List<EmployeeRepository.PageKey> keys) {
+        return keys.stream().map(key -> key.sortValue() + "/" + key.id()).toList();
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::id).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import config.DatabaseConfig;
+import database.SQLiteConnectionManager;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.AttendanceRecord;
+import model.Employee;
+import model.PayrollRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.PayrollRepository;
+
+/** Generating a month with the SQL push-down must store exactly what the Java run path stores. */
+class PayrollPushDownParityTest {
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+    private static final int REQUIRED_WORK_DAYS = 22;
+    private static final int EMPLOYEES = 120;
+
+    @TempDir
+    static Path dataDir;
+
+    @BeforeAll
+    static void createDatabase() {
+        // Surefire forks a JVM per test class, so this is the first database path DatabaseConfig resolves.
+        System.setProperty(DatabaseConfig.DATABASE_PATH_PROPERTY, dataDir.resolve("payroll.db").toString());
+        EmployeeService employees = new EmployeeService();
+        AttendanceService attendance = new AttendanceService();
+        employees.initialize();
+        new PayrollService().initialize();
+
+        Random random = new Random(42);
+        AttendanceRecord.Status[] statuses = AttendanceRecord.Status.values();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            String salary = (8_000 + random.nextInt(90_000)) + "." + String.format("%02d", random.nextInt(100));
+            Employee employee = employees.create("Employee " + i, "Role " + (i % 7), salary);
+            // Every fifth employee has no attendance, which the push-down reaches through its LEFT JOIN.
+            if (i % 5 == 0) {
+                continue;
+            }
+            for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+                if (random.nextInt(4) != 0) {
+                    attendance.create(employee.id(), LocalDate.of(MONTH.getYear(), MONTH.getMonth(), day),
+                            statuses[random.nextInt(statuses.length)]);
+                }
+            }
+        }
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        SQLiteConnectionManager.getInstance().close();
+    }
+
+    @Test
+    void pushDownMatchesJavaRun() throws SQLException {
+        PayrollRunEngine engine = new PayrollRunEngine();
+        PayrollRepository payroll = new PayrollRepository();
+
+        assertEquals(EMPLOYEES, engine.run(MONTH, REQUIRED_WORK_DAYS, ProgressListener.NONE, new CancellationToken()).generated());
+        Map<Long, PayrollRecord> expected = byEmployee(payroll.findByMonth(MONTH));
+        deleteMonth(MONTH);
+
+        assertEquals(EMPLOYEES, engine.runPushDown(MONTH, REQUIRED_WORK_DAYS, ProgressListener.NONE, new CancellationToken()).generated());
+        Map<Long, PayrollRecord> actual = byEmployee(payroll.findByMonth(MONTH));
+
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((employeeId, want) -> {
+            PayrollRecord got = actual.get(employeeId);
+            assertNotNull(got);
+            String employee = "employee " + employeeId;
+            assertEquals(want.baseSalaryCents(), got.baseSalaryCents(), employee);
+            assertEquals(want.effectiveWorkDays(), got.effectiveWorkDays(), employee);
+            assertEquals(want.requiredWorkDays(), got.requiredWorkDays(), employee);
+            assertEquals(want.computedSalaryCents(), got.computedSalaryCents(), employee);
+            assertEquals(want.status(), got.status(), employee);
+        });
+    }
+
+    private static Map<Long, PayrollRecord> byEmployee(List<PayrollRecord> records) {
+        Map<Long, PayrollRecord> indexed = new HashMap<>();
+        records.forEach(record -> indexed.put(record.employeeId(), record));
+        return indexed;
+    }
+
+    private static void deleteMonth(YearMonth month) throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM payroll WHERE month = ?")) {
+            statement.setString(1, month.toString());
+            statement.executeUpdate();
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import config.DatabaseConfig;
+import database.SQLiteConnectionManager;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.function.ToIntFunction;
+import model.AttendanceRecord;
+import model.PayrollRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.PayrollRepository;
+
+/** A month range must store what generating each month on its own stores, whichever path runs it. */
+class PayrollRangeTest {
+    private static final YearMonth FROM = YearMonth.of(2024, 1);
+    private static final YearMonth TO = YearMonth.of(2024, 3);
+    private static final List<YearMonth> MONTHS = List.of(FROM, FROM.plusMonths(1), TO);
+    // Required days differ per month so a range that binds the wrong month's value shows up.
+    private static final ToIntFunction<YearMonth> REQUIRED_WORK_DAYS = month -> 20 + month.getMonthValue();
+    // More than two run partitions, so a cancelled month can stop part-way through.
+    private static final int EMPLOYEES = 2_500;
+
+    @TempDir
+    static Path dataDir;
+
+    private static Map<YearMonth, Map<Long, PayrollRecord>> expected;
+
+    private final PayrollRunEngine engine = new PayrollRunEngine();
+    private final PayrollRepository payroll = new PayrollRepository();
+
+    @BeforeAll
+    static void createDatabase() throws SQLException {
+        // Surefire forks a JVM per test class, so this is the first database path DatabaseConfig resolves.
+        System.setProperty(DatabaseConfig.DATABASE_PATH_PROPERTY, dataDir.resolve("payroll.db").toString());
+        new EmployeeService().initialize();
+        new AttendanceService().initialize();
+        new PayrollService().initialize();
+        seed(new Random(7));
+
+        PayrollRunEngine engine = new PayrollRunEngine();
+        expected = new HashMap<>();
+        for (YearMonth month : MONTHS) {
+            engine.run(month, REQUIRED_WORK_DAYS.applyAsInt(month), ProgressListener.NONE, new CancellationToken());
+            expected.put(month, byEmployee(new PayrollRepository().findByMonth(month)));
+        }
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        SQLiteConnectionManager.getInstance().close();
+    }
+
+    @BeforeEach
+    void clearPayroll() throws SQLException {
+        execute("DELETE FROM payroll", "DELETE FROM payroll_run");
+    }
+
+    @Test
+    void rangeMatchesMonthByMonthRuns() throws SQLException {
+        List<YearMonth> reported = new ArrayList<>();
+        PayrollRunEngine.RangeResult result = engine.runRange(FROM, TO, REQUIRED_WORK_DAYS, (month, completed, total) -> {
+            if (reported.isEmpty() || !reported.get(reported.size() - 1).equals(month)) reported.add(month);
+        }, new CancellationToken());
+
+        assertEquals(MONTHS, reported);
+        assertEquals(MONTHS, List.copyOf(result.months().keySet()));
+        MONTHS.forEach(month -> assertEquals(new PayrollRunEngine.RunResult(EMPLOYEES, 0), result.months().get(month), month.toString()));
+        assertStoredAsExpected();
+    }
+
+    @Test
+    void rangeResumesAfterPartialRun() throws SQLException {
+        YearMonth interrupted = FROM.plusMonths(1);
+        CancellationToken token = new CancellationToken();
+        assertThrows(CancellationException.class, () -> engine.runRange(FROM, TO, REQUIRED_WORK_DAYS, (month, completed, total) -> {
+            if (month.equals(interrupted) && completed > 0 && completed < total) token.cancel();
+        }, token));
+
+        int partial = payroll.countByMonth(interrupted);
+        assertTrue(partial > 0 && partial < EMPLOYEES, "month should stop part-way, stored " + partial);
+        assertEquals(1, engine.resumableRuns().size());
+
+        PayrollRunEngine.RangeResult resumed = engine.runRange(FROM, TO, REQUIRED_WORK_DAYS, RangeProgressListener.NONE,
+                new CancellationToken());
+
+        assertEquals(new PayrollRunEngine.RunResult(0, EMPLOYEES), resumed.months().get(FROM));
+        assertEquals(EMPLOYEES - partial, resumed.months().get(interrupted).generated());
+        assertEquals(new PayrollRunEngine.RunResult(EMPLOYEES, 0), resumed.months().get(TO));
+        assertTrue(engine.resumableRuns().isEmpty());
+        assertStoredAsExpected();
+    }
+
+    @Test
+    void pushDownRangeMatchesJavaRuns() throws SQLException {
+        engine.run(FROM, REQUIRED_WORK_DAYS.applyAsInt(FROM), ProgressListener.NONE, new CancellationToken());
+
+        PayrollRunEngine.RangeResult result = engine.runRangePushDown(FROM, TO, REQUIRED_WORK_DAYS, RangeProgressListener.NONE,
+                new CancellationToken());
+
+        assertEquals(new PayrollRunEngine.RunResult(0, EMPLOYEES), result.months().get(FROM));
+        assertEquals(new PayrollRunEngine.RunResult(EMPLOYEES, 0), result.months().get(FROM.plusMonths(1)));
+        assertEquals(new PayrollRunEngine.RunResult(EMPLOYEES, 0), result.months().get(TO));
+        assertStoredAsExpected();
+    }
+
+    private void assertStoredAsExpected() throws SQLException {
+        for (YearMonth month : MONTHS) {
+            Map<Long, PayrollRecord> want = expected.get(month);
+            Map<Long, PayrollRecord> actual = byEmployee(payroll.findByMonth(month));
+            assertEquals(want.keySet(), actual.keySet(), month.toString());
+            want.forEach((employeeId, record) -> {
+                PayrollRecord got = actual.get(employeeId);
+                assertNotNull(got);
+                String employee = month + " employee " + employeeId;
+                assertEquals(record.baseSalaryCents(), got.baseSalaryCents(), employee);
+                assertEquals(record.effectiveWorkDays(), got.effectiveWorkDays(), employee);
+                assertEquals(record.requiredWorkDays(), got.requiredWorkDays(), employee);
+                assertEquals(record.computedSalaryCents(), got.computedSalaryCents(), employee);
+                assertEquals(record.status(), got.status(), employee);
+            });
+        }
+    }
+
+    private static void seed(Random random) throws SQLException {
+        AttendanceRecord.Status[] statuses = AttendanceRecord.Status.values();
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (PreparedStatement employees = connection.prepareStatement(
+                "INSERT INTO employees(full_name, position, monthly_salary, created_at, updated_at) VALUES(?, ?, ?, datetime('now'), datetime('now'))");
+                PreparedStatement attendance = connection.prepareStatement(
+                        "INSERT INTO attendance(employee_id, date, status, created_at, updated_at) VALUES(?, ?, ?, datetime('now'), datetime('now'))")) {
+            connection.setAutoCommit(false);
+            for (int i = 1; i <= EMPLOYEES; i++) {
+                employees.setString(1, "Employee " + i);
+                employees.setString(2, "Role " + (i % 7));
+                employees.setDouble(3, (8_000 + random.nextInt(90_000)) + random.nextInt(100) / 100.0);
+                employees.addBatch();
+            }
+            employees.executeBatch();
+            for (long employeeId = 1; employeeId <= EMPLOYEES; employeeId++) {
+                // Every fifth employee has no attendance in the range.
+                if (employeeId % 5 == 0) continue;
+                for (LocalDate day = FROM.atDay(1); !day.isAfter(TO.atEndOfMonth()); day = day.plusDays(1)) {
+                    if (random.nextInt(3) == 0) continue;
+                    attendance.setLong(1, employeeId);
+                    attendance.setString(2, day.toString());
+                    attendance.setString(3, statuses[random.nextInt(statuses.length)].name());
+                    attendance.addBatch();
+                }
+            }
+            attendance.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    private static void execute(String... sql) throws SQLException {
+        Connection connection = SQLiteConnectionManager.getInstance().borrowConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String each : sql) statement.executeUpdate(each);
+        } finally {
+            SQLiteConnectionManager.getInstance().returnConnection(connection);
+        }
+    }
+
+    private static Map<Long, PayrollRecord> byEmployee(List<PayrollRecord> records) {
+        Map<Long, PayrollRecord> indexed = new HashMap<>();
+        records.forEach(record -> indexed.put(record.employeeId(), record));
+        return indexed;
+    }
+}
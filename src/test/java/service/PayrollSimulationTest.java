@@ -0,0 +1,131 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import config.DatabaseConfig;
+import database.SQLiteConnectionManager;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.AttendanceRecord;
+import model.Employee;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.AttendanceRepository;
+import util.Money;
+
+/** Simulated totals must equal what {@link PayrollCalculator} computes employee by employee. */
+class PayrollSimulationTest {
+    private static final YearMonth MONTH = YearMonth.of(2024, 5);
+    private static final int EMPLOYEES = 60;
+    private static final AttendanceRepository.MonthlyStatusTotals NO_ATTENDANCE =
+            new AttendanceRepository.MonthlyStatusTotals(0, 0, 0, 0);
+
+    @TempDir
+    static Path dataDir;
+
+    private static List<Employee> employees;
+    private static Map<Long, AttendanceRepository.MonthlyStatusTotals> attendance;
+    private static PayrollSimulation simulation;
+
+    private final PayrollCalculator calculator = new PayrollCalculator();
+    private final WorkDayCalculator workDays = new WorkDayCalculator();
+
+    @BeforeAll
+    static void createDatabase() throws SQLException {
+        // Surefire forks a JVM per test class, so this is the first database path DatabaseConfig resolves.
+        System.setProperty(DatabaseConfig.DATABASE_PATH_PROPERTY, dataDir.resolve("payroll.db").toString());
+        EmployeeService employeeService = new EmployeeService();
+        AttendanceService attendanceService = new AttendanceService();
+        SettingsService settings = new SettingsService();
+        employeeService.initialize();
+        settings.initialize();
+        new PayrollService().initialize();
+
+        Random random = new Random(11);
+        AttendanceRecord.Status[] statuses = AttendanceRecord.Status.values();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            String salary = (9_000 + random.nextInt(60_000)) + "." + String.format("%02d", random.nextInt(100));
+            Employee employee = employeeService.create("Employee " + i, "Role " + (i % 4), salary);
+            if (i % 6 == 0) {
+                continue;
+            }
+            for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+                if (random.nextInt(5) != 0) {
+                    attendanceService.create(employee.id(), LocalDate.of(MONTH.getYear(), MONTH.getMonth(), day),
+                            statuses[random.nextInt(statuses.length)]);
+                }
+            }
+        }
+        employees = employeeService.findAll();
+        attendance = new AttendanceRepository().aggregateAllByMonth(MONTH);
+        simulation = new PayrollSimulationService(settings).load(MONTH);
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        SQLiteConnectionManager.getInstance().close();
+    }
+
+    @Test
+    void baselineMatchesCalculator() {
+        PayrollSimulation.Scenario baseline = simulation.baseline();
+
+        assertExpected(baseline, simulation.simulate(baseline));
+    }
+
+    @Test
+    void positionAdjustmentMatchesCalculator() {
+        PayrollSimulation.Scenario raise = simulation.baseline().withSalaryAdjustment("Role 1", 1_250).withSalaryAdjustment("Role 3", -500);
+
+        PayrollSimulation.Result result = simulation.simulate(raise);
+
+        assertExpected(raise, result);
+        assertTrue(result.computedSalaryCents() != simulation.simulate(simulation.baseline()).computedSalaryCents());
+    }
+
+    @Test
+    void attendanceOverrideMatchesCalculator() {
+        Employee absent = employees.get(0);
+        Employee present = employees.get(1);
+        PayrollSimulation.Scenario scenario = simulation.baseline()
+                .withRequiredWorkDays(20)
+                .withAttendance(absent.id(), new AttendanceRepository.MonthlyStatusTotals(18, 1, 2, 1))
+                .withAttendance(present.id(), NO_ATTENDANCE);
+
+        assertExpected(scenario, simulation.simulate(scenario));
+    }
+
+    private void assertExpected(PayrollSimulation.Scenario scenario, PayrollSimulation.Result result) {
+        long base = 0L;
+        long computed = 0L;
+        Map<String, Long> byPosition = new HashMap<>();
+        for (Employee employee : employees) {
+            int adjustment = scenario.salaryAdjustmentBasisPoints().getOrDefault(employee.position(), 0);
+            double salary = BigDecimal.valueOf(employee.monthlySalary())
+                    .multiply(BigDecimal.valueOf(10_000 + adjustment)).divide(BigDecimal.valueOf(10_000))
+                    .setScale(2, RoundingMode.HALF_UP).doubleValue();
+            AttendanceRepository.MonthlyStatusTotals totals = scenario.attendanceOverrides()
+                    .getOrDefault(employee.id(), attendance.getOrDefault(employee.id(), NO_ATTENDANCE));
+            WorkDayCalculator.WorkDaySummary summary = workDays.calculate(totals, scenario.requiredWorkDays());
+            long cents = Money.toCents(calculator.compute(salary, summary.effectiveWorkDays(), summary.requiredWorkDays()));
+            base += Money.toCents(salary);
+            computed += cents;
+            byPosition.merge(employee.position(), cents, Long::sum);
+        }
+        assertEquals(EMPLOYEES, result.employees());
+        assertEquals(base, result.baseSalaryCents(), "base salary");
+        assertEquals(computed, result.computedSalaryCents(), "computed salary");
+        assertEquals(byPosition, result.computedSalaryCentsByPosition());
+    }
+}
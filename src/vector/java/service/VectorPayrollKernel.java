@@ -0,0 +1,73 @@
+package service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorPayrollKernel implements PayrollKernel {
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+    // Keeps 2 * salary * effective + required below 2^53 so the double quotient is within one of the exact one.
+    private static final long MAX_SALARY_CENTS = 1L << 40;
+    private static final long MAX_HALF_DAYS = 1L << 10;
+
+    private VectorPayrollKernel() {
+    }
+
+    /** The kernel, or {@code null} when the preferred vector shape holds fewer than two payroll lanes. */
+    static PayrollKernel create() {
+        return LONGS.length() < 2 ? null : new VectorPayrollKernel();
+    }
+
+    @Override
+    public void computeHalfUp(long[] salaryCents, int[] effectiveHalfDays, int[] requiredHalfDays, long[] out, int length,
+            PayrollCalculator scalar) {
+        LongVector zero = LongVector.zero(LONGS);
+        LongVector one = LongVector.broadcast(LONGS, 1L);
+        int bound = LONGS.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            LongVector salary = LongVector.fromArray(LONGS, salaryCents, i);
+            LongVector effective = (LongVector) IntVector.fromArray(INTS, effectiveHalfDays, i)
+                    .convertShape(VectorOperators.I2L, LONGS, 0);
+            LongVector required = (LongVector) IntVector.fromArray(INTS, requiredHalfDays, i)
+                    .convertShape(VectorOperators.I2L, LONGS, 0);
+
+            VectorMask<Long> payable = salary.compare(VectorOperators.GT, 0L)
+                    .and(effective.compare(VectorOperators.GT, 0L))
+                    .and(required.compare(VectorOperators.GT, 0L));
+            VectorMask<Long> inRange = salary.compare(VectorOperators.LE, MAX_SALARY_CENTS)
+                    .and(effective.compare(VectorOperators.LE, MAX_HALF_DAYS))
+                    .and(required.compare(VectorOperators.LE, MAX_HALF_DAYS));
+            if (payable.andNot(inRange).anyTrue()) {
+                computeScalar(salaryCents, effectiveHalfDays, requiredHalfDays, out, i, i + LONGS.length(), scalar);
+                continue;
+            }
+
+            // HALF_UP of p / r is floor((2p + r) / 2r); the double estimate is corrected by one step in integers.
+            LongVector numerator = salary.mul(effective).lanewise(VectorOperators.LSHL, 1).add(required);
+            LongVector denominator = required.lanewise(VectorOperators.LSHL, 1);
+            DoubleVector estimate = ((DoubleVector) numerator.convert(VectorOperators.L2D, 0))
+                    .div((DoubleVector) denominator.convert(VectorOperators.L2D, 0));
+            LongVector quotient = ((LongVector) estimate.convert(VectorOperators.D2L, 0)).blend(zero, payable.not());
+            LongVector remainder = numerator.sub(quotient.mul(denominator));
+            quotient = quotient.sub(one, remainder.compare(VectorOperators.LT, 0L).and(payable))
+                    .add(one, remainder.compare(VectorOperators.GE, denominator).and(payable));
+
+            quotient.min(salary).blend(zero, payable.not()).intoArray(out, i);
+        }
+        computeScalar(salaryCents, effectiveHalfDays, requiredHalfDays, out, i, length, scalar);
+    }
+
+    private static void computeScalar(long[] salaryCents, int[] effectiveHalfDays, int[] requiredHalfDays, long[] out,
+            int from, int to, PayrollCalculator scalar) {
+        for (int i = from; i < to; i++) {
+            out[i] = scalar.computeCents(salaryCents[i], effectiveHalfDays[i], requiredHalfDays[i]);
+        }
+    }
+}